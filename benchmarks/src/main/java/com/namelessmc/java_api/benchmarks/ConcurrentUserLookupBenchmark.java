@@ -0,0 +1,79 @@
+package com.namelessmc.java_api.benchmarks;
+
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessApiBuilder;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.stub.StubNamelessWebsite;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of concurrent {@link NamelessAPI#userByMinecraftUuid(UUID)} calls against a local stub website serving
+ * the fixtures, with the default HTTP client executor and with {@link NamelessApiBuilder#virtualThreads()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConcurrentUserLookupBenchmark {
+
+	private static final UUID UUID = java.util.UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+	private static final int FAN_OUT = 1000;
+
+	public enum ExecutorMode {
+		DEFAULT,
+		VIRTUAL_THREADS,
+	}
+
+	@Param
+	public ExecutorMode executorMode;
+
+	@Param("5")
+	public long latencyMillis;
+
+	private StubNamelessWebsite website;
+	private NamelessAPI api;
+
+	@Setup
+	public void setUp() throws IOException {
+		this.website = StubNamelessWebsite.start(0);
+		this.website.latency(Duration.ofMillis(this.latencyMillis));
+		this.website.responses(Fixtures::response);
+		final NamelessApiBuilder builder = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY);
+		if (this.executorMode == ExecutorMode.VIRTUAL_THREADS) {
+			builder.virtualThreads();
+		}
+		this.api = builder.build();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.website.close();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public NamelessUser blockingLookup() throws NamelessException {
+		return this.api.userByMinecraftUuid(UUID);
+	}
+
+	@Benchmark
+	@Threads(1)
+	@OperationsPerInvocation(FAN_OUT)
+	public void asyncFanOut() {
+		final CompletableFuture<?>[] futures = new CompletableFuture<?>[FAN_OUT];
+		for (int i = 0; i < FAN_OUT; i++) {
+			futures[i] = this.api.userByMinecraftUuidAsync(UUID);
+		}
+		CompletableFuture.allOf(futures).join();
+	}
+
+}
@@ -0,0 +1,195 @@
+package com.namelessmc.java_api.benchmarks;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * HTTP client that answers every request from the fixtures in memory, on the calling thread. Passed to
+ * {@link com.namelessmc.java_api.NamelessApiBuilder#httpClient(HttpClient)}, it measures everything
+ * the API does with a response, through public methods, without sockets or a server.
+ */
+public class FixtureHttpClient extends HttpClient {
+
+	private static final HttpHeaders HEADERS = HttpHeaders.of(
+			Map.of("Content-Type", List.of("application/json")), (name, value) -> true);
+
+	@Override
+	public Optional<CookieHandler> cookieHandler() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<Duration> connectTimeout() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Redirect followRedirects() {
+		return Redirect.NEVER;
+	}
+
+	@Override
+	public Optional<ProxySelector> proxy() {
+		return Optional.empty();
+	}
+
+	@Override
+	public SSLContext sslContext() {
+		try {
+			return SSLContext.getDefault();
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public SSLParameters sslParameters() {
+		return new SSLParameters();
+	}
+
+	@Override
+	public Optional<Authenticator> authenticator() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Version version() {
+		return Version.HTTP_1_1;
+	}
+
+	@Override
+	public Optional<Executor> executor() {
+		return Optional.empty();
+	}
+
+	@Override
+	public <T> HttpResponse<T> send(final HttpRequest request,
+									final HttpResponse.BodyHandler<T> responseBodyHandler) throws IOException, InterruptedException {
+		try {
+			return sendAsync(request, responseBodyHandler).get();
+		} catch (final ExecutionException e) {
+			throw new IOException(e.getCause());
+		}
+	}
+
+	@Override
+	public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request,
+															final HttpResponse.BodyHandler<T> responseBodyHandler) {
+		final byte[] body = Fixtures.response(Fixtures.route(request.uri().getRawQuery()));
+		final HttpResponse.BodySubscriber<T> subscriber = responseBodyHandler.apply(new HttpResponse.ResponseInfo() {
+			@Override
+			public int statusCode() {
+				return 200;
+			}
+
+			@Override
+			public HttpHeaders headers() {
+				return HEADERS;
+			}
+
+			@Override
+			public Version version() {
+				return Version.HTTP_1_1;
+			}
+		});
+		subscriber.onSubscribe(new Flow.Subscription() {
+			private boolean done = false;
+
+			@Override
+			public void request(final long n) {
+				if (n > 0 && !this.done) {
+					this.done = true;
+					subscriber.onNext(List.of(ByteBuffer.wrap(body).asReadOnlyBuffer()));
+					subscriber.onComplete();
+				}
+			}
+
+			@Override
+			public void cancel() {
+				this.done = true;
+			}
+		});
+		return subscriber.getBody().toCompletableFuture()
+				.thenApply(responseBody -> new FixtureResponse<>(request, responseBody));
+	}
+
+	@Override
+	public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request,
+															final HttpResponse.BodyHandler<T> responseBodyHandler,
+															final HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+		return sendAsync(request, responseBodyHandler);
+	}
+
+	private static class FixtureResponse<T> implements HttpResponse<T> {
+
+		private final HttpRequest request;
+		private final T body;
+
+		private FixtureResponse(final HttpRequest request, final T body) {
+			this.request = request;
+			this.body = body;
+		}
+
+		@Override
+		public int statusCode() {
+			return 200;
+		}
+
+		@Override
+		public HttpRequest request() {
+			return this.request;
+		}
+
+		@Override
+		public Optional<HttpResponse<T>> previousResponse() {
+			return Optional.empty();
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return HEADERS;
+		}
+
+		@Override
+		public T body() {
+			return this.body;
+		}
+
+		@Override
+		public Optional<SSLSession> sslSession() {
+			return Optional.empty();
+		}
+
+		@Override
+		public URI uri() {
+			return this.request.uri();
+		}
+
+		@Override
+		public Version version() {
+			return Version.HTTP_1_1;
+		}
+
+	}
+
+}
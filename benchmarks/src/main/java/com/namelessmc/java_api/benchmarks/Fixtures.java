@@ -0,0 +1,81 @@
+package com.namelessmc.java_api.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Representative website response bodies, from {@code src/main/resources/fixtures}
+ */
+public class Fixtures {
+
+	private static final byte[] INFO_RESPONSE = bytes("info.json");
+	private static final byte[] USER_RESPONSE = bytes("user.json");
+	private static final byte[] USERS_RESPONSE = bytes("users.json");
+	private static final byte[] STORE_PAYMENTS_RESPONSE = bytes("store-payments.json");
+	private static final byte[] STORE_PENDING_COMMANDS_RESPONSE = bytes("store-pending-commands.json");
+	private static final byte[] INVALID_API_METHOD_RESPONSE =
+			"{\"error\":\"nameless:invalid_api_method\"}".getBytes(StandardCharsets.UTF_8);
+
+	public static byte[] bytes(final String name) {
+		try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+			if (in == null) {
+				throw new IllegalArgumentException("Missing fixture: " + name);
+			}
+			return in.readAllBytes();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static String string(final String name) {
+		return new String(bytes(name), StandardCharsets.UTF_8);
+	}
+
+	public static JsonObject json(final String name) {
+		return JsonParser.parseString(string(name)).getAsJsonObject();
+	}
+
+	/**
+	 * @param route API route without parameters, like {@code users/username:Player1234}
+	 * @return Response body the website would send for this route, must not be modified
+	 */
+	public static byte[] response(final String route) {
+		if (route.equals("info")) {
+			return INFO_RESPONSE;
+		} else if (route.startsWith("users/")) {
+			return USER_RESPONSE;
+		} else if (route.equals("users")) {
+			return USERS_RESPONSE;
+		} else if (route.equals("store/payments")) {
+			return STORE_PAYMENTS_RESPONSE;
+		} else if (route.equals("store/pending-commands")) {
+			return STORE_PENDING_COMMANDS_RESPONSE;
+		} else {
+			return INVALID_API_METHOD_RESPONSE;
+		}
+	}
+
+	/**
+	 * @param rawQuery Raw query string of a request URI, may be null
+	 * @return Route without the {@code /api/v2/} prefix, or an empty string if the query has no route parameter
+	 */
+	public static String route(final String rawQuery) {
+		if (rawQuery == null) {
+			return "";
+		}
+		for (final String parameter : rawQuery.split("&")) {
+			if (parameter.startsWith("route=")) {
+				final String route = URLDecoder.decode(parameter.substring(6), StandardCharsets.UTF_8);
+				return route.startsWith("/api/v2/") ? route.substring(8) : route;
+			}
+		}
+		return "";
+	}
+
+}
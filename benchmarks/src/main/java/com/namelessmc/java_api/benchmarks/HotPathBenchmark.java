@@ -0,0 +1,126 @@
+package com.namelessmc.java_api.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.namelessmc.java_api.CustomProfileFieldValue;
+import com.namelessmc.java_api.Group;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.RequestHandler;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.integrations.DetailedIntegrationData;
+import com.namelessmc.java_api.util.StringHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work that doesn't involve the network: building routes, parsing and reading a user response,
+ * UUID conversion and sanitizing response bodies for log messages. Users are looked up from the fixtures with
+ * {@link FixtureHttpClient}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotPathBenchmark {
+
+	private static final String WEBSITE_UUID = "069a79f444e94726a5befca90e38aaf5";
+	private static final UUID JAVA_UUID = NamelessAPI.websiteUuidToJavaUuid(WEBSITE_UUID);
+
+	private NamelessAPI api;
+	private NamelessUser user;
+	private String userResponse;
+	private String paymentsResponse;
+
+	@Setup
+	public void setUp() throws MalformedURLException, NamelessException {
+		// Never connected to, responses come from the fixtures
+		this.api = NamelessAPI.builder(new URL("http://127.0.0.1:1/index.php?route=/api/v2/"), "benchmark")
+				.httpClient(new FixtureHttpClient())
+				.build();
+		this.user = this.api.userByUsername("Player1234");
+		this.userResponse = Fixtures.string("user.json");
+		this.paymentsResponse = Fixtures.string("store-payments.json");
+	}
+
+	@Benchmark
+	public String buildRoute() {
+		return RequestHandler.buildRoute("users", "groups", null, "operator", "AND", "limit", 0,
+				"offset", 200, "username", "Jëb_ 1");
+	}
+
+	@Benchmark
+	public JsonObject parseUserResponse() {
+		return JsonParser.parseString(this.userResponse).getAsJsonObject();
+	}
+
+	/**
+	 * Looking up a user from the fixture, subtract from {@link #userIntegrations()}
+	 */
+	@Benchmark
+	public NamelessUser userLookup() throws NamelessException {
+		return this.api.userByUsername("Player1234");
+	}
+
+	/**
+	 * Integrations are cached in the user object, so this includes looking up the user
+	 */
+	@Benchmark
+	public Map<String, DetailedIntegrationData> userIntegrations() throws NamelessException {
+		return this.api.userByUsername("Player1234").integrations();
+	}
+
+	@Benchmark
+	public List<Group> userGroups() throws NamelessException {
+		return this.user.groups();
+	}
+
+	@Benchmark
+	public Collection<CustomProfileFieldValue> userProfileFields() throws NamelessException {
+		return this.user.profileFields();
+	}
+
+	@Benchmark
+	public UUID websiteUuidToJavaUuid() {
+		return NamelessAPI.websiteUuidToJavaUuid(WEBSITE_UUID);
+	}
+
+	@Benchmark
+	public String javaUuidToWebsiteUuid() {
+		return NamelessAPI.javaUuidToWebsiteUuid(JAVA_UUID);
+	}
+
+	/**
+	 * Previous implementation of {@link NamelessAPI#websiteUuidToJavaUuid(String)}, for comparison
+	 */
+	@Benchmark
+	public UUID websiteUuidToJavaUuidBigInteger() {
+		final BigInteger a = new BigInteger(WEBSITE_UUID.substring(0, 16), 16);
+		final BigInteger b = new BigInteger(WEBSITE_UUID.substring(16, 32), 16);
+		return new UUID(a.longValue(), b.longValue());
+	}
+
+	/**
+	 * Previous implementation of {@link NamelessAPI#javaUuidToWebsiteUuid(UUID)}, for comparison
+	 */
+	@Benchmark
+	public String javaUuidToWebsiteUuidReplace() {
+		return JAVA_UUID.toString().replace("-", "");
+	}
+
+	@Benchmark
+	public String regularAsciiOnly() {
+		return StringHelper.regularAsciiOnly(this.paymentsResponse);
+	}
+
+}
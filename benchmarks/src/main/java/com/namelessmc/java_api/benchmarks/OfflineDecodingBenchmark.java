@@ -0,0 +1,112 @@
+package com.namelessmc.java_api.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.modules.store.PendingCommandsResponse;
+import com.namelessmc.java_api.modules.store.StoreAPI;
+import com.namelessmc.java_api.modules.store.StorePayment;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and decoding the fixtures in {@code src/main/resources/fixtures}, without network. The {@code tree}
+ * benchmarks only parse a fixture into a JSON tree. The other benchmarks make a request through the public API,
+ * answered in memory by {@link FixtureHttpClient}, so they include everything the API does with a response.
+ * Payments and users are decoded from the token stream by their JSON decoders, without a tree.
+ * {@link ResponseDecodingBenchmark} measures the same requests over loopback HTTP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class OfflineDecodingBenchmark {
+
+	private String infoResponse;
+	private String userResponse;
+	private String usersResponse;
+	private String storePaymentsResponse;
+	private String storePendingCommandsResponse;
+
+	private NamelessAPI api;
+	private StoreAPI store;
+
+	@Setup
+	public void setUp() throws IOException, NamelessException {
+		this.infoResponse = Fixtures.string("info.json");
+		this.userResponse = Fixtures.string("user.json");
+		this.usersResponse = Fixtures.string("users.json");
+		this.storePaymentsResponse = Fixtures.string("store-payments.json");
+		this.storePendingCommandsResponse = Fixtures.string("store-pending-commands.json");
+
+		// Never connected to, responses come from the fixtures
+		this.api = NamelessAPI.builder(new URL("http://127.0.0.1:1/index.php?route=/api/v2/"), "benchmark")
+				.httpClient(new FixtureHttpClient())
+				.build();
+		this.store = this.api.store();
+	}
+
+	@Benchmark
+	public JsonObject infoTree() {
+		return JsonParser.parseString(this.infoResponse).getAsJsonObject();
+	}
+
+	@Benchmark
+	public JsonObject userTree() {
+		return JsonParser.parseString(this.userResponse).getAsJsonObject();
+	}
+
+	@Benchmark
+	public JsonObject usersTree() {
+		return JsonParser.parseString(this.usersResponse).getAsJsonObject();
+	}
+
+	@Benchmark
+	public JsonObject storePaymentsTree() {
+		return JsonParser.parseString(this.storePaymentsResponse).getAsJsonObject();
+	}
+
+	@Benchmark
+	public JsonObject storePendingCommandsTree() {
+		return JsonParser.parseString(this.storePendingCommandsResponse).getAsJsonObject();
+	}
+
+	@Benchmark
+	public JsonObject info() throws NamelessException {
+		return this.api.requests().get("info");
+	}
+
+	@Benchmark
+	public NamelessUser user() throws NamelessException {
+		return this.api.userByUsername("Player1234");
+	}
+
+	@Benchmark
+	public List<NamelessUser> users() throws NamelessException {
+		return this.api.users().makeRequest();
+	}
+
+	@Benchmark
+	public List<StorePayment> storePayments() throws NamelessException {
+		return this.store.payments();
+	}
+
+	@Benchmark
+	public List<StorePayment> storePaymentsAsync() {
+		return this.store.paymentsAsync().join();
+	}
+
+	@Benchmark
+	public PendingCommandsResponse storePendingCommands() throws NamelessException {
+		return this.store.pendingCommands(1);
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.namelessmc.java_api.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.modules.store.PendingCommandsResponse;
+import com.namelessmc.java_api.modules.store.StoreAPI;
+import com.namelessmc.java_api.modules.store.StorePayment;
+import com.namelessmc.java_api.stub.StubNamelessWebsite;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests to a local stub website without latency, responding with the fixtures in
+ * {@code src/main/resources/fixtures}. Measures sending the request, receiving the response and decoding it,
+ * without network or PHP variance. Includes the loopback HTTP round trip, see {@link OfflineDecodingBenchmark}
+ * for decoding only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ResponseDecodingBenchmark {
+
+	private StubNamelessWebsite website;
+	private NamelessAPI api;
+	private StoreAPI store;
+
+	@Setup
+	public void setUp() throws IOException, NamelessException {
+		this.website = StubNamelessWebsite.start(0);
+		this.website.responses(Fixtures::response);
+		this.api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+		this.store = this.api.store();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.website.close();
+	}
+
+	@Benchmark
+	public JsonObject info() throws NamelessException {
+		return this.api.requests().get("info");
+	}
+
+	@Benchmark
+	public NamelessUser user() throws NamelessException {
+		return this.api.userByUsername("Player1234");
+	}
+
+	@Benchmark
+	public List<NamelessUser> users() throws NamelessException {
+		return this.api.users().makeRequest();
+	}
+
+	@Benchmark
+	public List<StorePayment> storePayments() throws NamelessException {
+		return this.store.payments();
+	}
+
+	@Benchmark
+	public PendingCommandsResponse storePendingCommands() throws NamelessException {
+		return this.store.pendingCommands(1);
+	}
+
+}
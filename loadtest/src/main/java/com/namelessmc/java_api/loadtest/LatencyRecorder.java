@@ -0,0 +1,54 @@
+package com.namelessmc.java_api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Records all latencies of one operation during the measurement, for exact percentiles
+ */
+class LatencyRecorder {
+
+	private long[] latencies = new long[1024];
+	private int count = 0;
+	private long errors = 0;
+
+	synchronized void record(final long nanos, final boolean error) {
+		if (this.count == this.latencies.length) {
+			this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+		}
+		this.latencies[this.count++] = nanos;
+		if (error) {
+			this.errors++;
+		}
+	}
+
+	synchronized Snapshot snapshot() {
+		final long[] sorted = Arrays.copyOf(this.latencies, this.count);
+		Arrays.sort(sorted);
+		return new Snapshot(sorted, this.errors);
+	}
+
+	static class Snapshot {
+
+		private final long[] sorted;
+		final long errors;
+
+		private Snapshot(final long[] sorted, final long errors) {
+			this.sorted = sorted;
+			this.errors = errors;
+		}
+
+		int count() {
+			return this.sorted.length;
+		}
+
+		double percentileMillis(final double percentile) {
+			if (this.sorted.length == 0) {
+				return 0;
+			}
+			final int index = (int) Math.ceil(percentile * this.sorted.length) - 1;
+			return this.sorted[Math.max(0, Math.min(this.sorted.length - 1, index))] / 1e6;
+		}
+
+	}
+
+}
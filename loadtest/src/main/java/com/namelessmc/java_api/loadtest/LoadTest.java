@@ -0,0 +1,305 @@
+package com.namelessmc.java_api.loadtest;
+
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessApiBuilder;
+import com.namelessmc.java_api.RequestLimiter;
+import com.namelessmc.java_api.RetryPolicy;
+import com.namelessmc.java_api.exception.ApiException;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.metrics.RouteMetrics;
+import com.namelessmc.java_api.stub.StubNamelessWebsite;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Drives one {@link NamelessAPI} instance with a traffic mix at a target rate and concurrency, and reports
+ * throughput, latency percentiles, allocation rate and errors. Without {@code --url}, an in-process stub website
+ * ({@link StubNamelessWebsite}) is started, with {@code --players} users.
+ *
+ * <p>With {@code --rate}, operations are started on a fixed schedule (open loop) and latency is measured from the
+ * scheduled start, so a slow client shows up as latency instead of as a lower request rate. Operations that can't
+ * start because all {@code --concurrency} workers are busy are counted as dropped. Without {@code --rate}, each
+ * worker starts its next operation as soon as the previous one completes (closed loop).</p>
+ */
+public class LoadTest {
+
+	private static final String USAGE = String.join("\n",
+			"Options:",
+			"  --url <url>                   Website API URL, default: in-process stub website",
+			"  --api-key <key>               API key, default: stub website key",
+			"  --scenario <name>             login, store, console or mixed, default: mixed",
+			"  --rate <ops/s>                Target operations per second, default: 0 (closed loop)",
+			"  --concurrency <n>             Concurrent operations (proxies/servers), default: 64",
+			"  --duration <seconds>          Measurement duration, default: 60",
+			"  --warmup <seconds>            Warm-up duration, not measured, default: 10",
+			"  --players <n>                 Distinct players logging in, default: 10000",
+			"  --console-lines <n>           Lines per console log, default: 100",
+			"  --stub-latency <ms>           Stub website response time, default: 5",
+			"  --user-cache <size>           NamelessApiBuilder#userCache, default: disabled",
+			"  --max-concurrent-requests <n> NamelessApiBuilder#maxConcurrentRequests, default: unlimited",
+			"  --rate-limit <requests/s>     NamelessApiBuilder#rateLimit, default: unlimited",
+			"  --retries <n>                 NamelessApiBuilder#retryPolicy, default: 0",
+			"  --virtual-threads             NamelessApiBuilder#virtualThreads");
+
+	private final Scenario scenario;
+	private final double rate;
+	private final int concurrency;
+	private final Scenario.Context context;
+	private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+	private final AtomicLong seeds = new AtomicLong(42);
+	private final ThreadLocal<SplittableRandom> random = ThreadLocal.withInitial(() -> new SplittableRandom(this.seeds.incrementAndGet()));
+
+	private volatile Map<Scenario.Operation, LatencyRecorder> recorders;
+	private final LongAdder dropped = new LongAdder();
+
+	// Shared by all runs and never shut down, so allocatedBytes() still sees the workers after a run
+	private final ThreadPoolExecutor workers;
+
+	private LoadTest(final Scenario scenario, final double rate, final int concurrency, final Scenario.Context context) {
+		this.scenario = scenario;
+		this.rate = rate;
+		this.concurrency = concurrency;
+		this.context = context;
+		this.workers = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+			final Thread thread = new Thread(runnable, "LoadTest-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.workers.prestartAllCoreThreads();
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final Map<String, String> options = new HashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--help") || !args[i].startsWith("--")) {
+				System.out.println(USAGE);
+				return;
+			}
+			final String name = args[i].substring(2);
+			if (name.equals("virtual-threads")) {
+				options.put(name, "true");
+			} else if (i + 1 < args.length) {
+				options.put(name, args[++i]);
+			} else {
+				System.out.println("Missing value for " + args[i] + "\n" + USAGE);
+				return;
+			}
+		}
+
+		final Scenario scenario = Scenario.parse(options.getOrDefault("scenario", "mixed"));
+		final double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+		final int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+		final int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+		final int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+
+		final int players = Integer.parseInt(options.getOrDefault("players", "10000"));
+
+		StubNamelessWebsite stub = null;
+		final URL url;
+		final IntFunction<UUID> playerUuid;
+		if (options.containsKey("url")) {
+			url = new URL(options.get("url"));
+			playerUuid = player -> new UUID(0x069a79f444e94726L, player);
+		} else {
+			stub = StubNamelessWebsite.start(players);
+			stub.latency(Duration.ofMillis(Long.parseLong(options.getOrDefault("stub-latency", "5"))));
+			url = stub.apiUrl();
+			playerUuid = player -> StubNamelessWebsite.minecraftUuid(player + 1);
+		}
+
+		final NamelessApiBuilder builder = NamelessAPI.builder(url, options.getOrDefault("api-key", StubNamelessWebsite.API_KEY));
+		if (options.containsKey("user-cache")) {
+			builder.userCache(Integer.parseInt(options.get("user-cache")), Duration.ofMinutes(5));
+		}
+		if (options.containsKey("max-concurrent-requests")) {
+			builder.maxConcurrentRequests(Integer.parseInt(options.get("max-concurrent-requests")), Integer.MAX_VALUE);
+		}
+		if (options.containsKey("rate-limit")) {
+			builder.rateLimit(Double.parseDouble(options.get("rate-limit")), Duration.ofSeconds(30));
+		}
+		if (options.containsKey("retries")) {
+			builder.retryPolicy(RetryPolicy.builder().maxRetries(Integer.parseInt(options.get("retries"))).build());
+		}
+		if (options.containsKey("virtual-threads")) {
+			builder.virtualThreads();
+		}
+		final NamelessAPI api = builder.build();
+
+		final Scenario.Context context = new Scenario.Context(api, scenario, players, playerUuid,
+				Integer.parseInt(options.getOrDefault("console-lines", "100")));
+		final LoadTest loadTest = new LoadTest(scenario, rate, concurrency, context);
+
+		System.out.printf(Locale.ROOT, "Scenario %s, %s, concurrency %d, against %s%n", scenario,
+				rate > 0 ? rate + " ops/s" : "closed loop", concurrency, stub != null ? "stub website" : url);
+		if (warmup > 0) {
+			System.out.printf(Locale.ROOT, "Warming up for %ds%n", warmup);
+			loadTest.run(warmup);
+		}
+		System.out.printf(Locale.ROOT, "Measuring for %ds%n", duration);
+		final long allocatedBefore = allocatedBytes();
+		final long gcCountBefore = gcCount();
+		final long gcTimeBefore = gcTimeMillis();
+		final long start = System.nanoTime();
+		loadTest.run(duration);
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		final double allocationRate = (allocatedBytes() - allocatedBefore) / seconds / (1024 * 1024);
+
+		loadTest.report(seconds);
+		System.out.printf(Locale.ROOT, "%nAllocation rate: %.1f MB/s%s, GC: %d collections, %d ms%n",
+				allocationRate, stub != null ? " (including the stub website)" : "",
+				gcCount() - gcCountBefore, gcTimeMillis() - gcTimeBefore);
+
+		System.out.println("\nRequests by route (including warm-up):");
+		for (final RouteMetrics route : api.metrics().values()) {
+			System.out.println("  " + route.toString().replace("\n", "\n  "));
+		}
+		final RequestLimiter limiter = api.requests().limiter();
+		if (limiter != null) {
+			System.out.printf(Locale.ROOT, "Limiter: rejected %d, average wait %d ms, max wait %d ms%n",
+					limiter.rejectedRequests(), limiter.averageWaitTime().toMillis(), limiter.maxWaitTime().toMillis());
+		}
+
+		if (stub != null) {
+			stub.close();
+		}
+		System.exit(0);
+	}
+
+	private void run(final int seconds) throws InterruptedException {
+		final Map<Scenario.Operation, LatencyRecorder> recorders = new EnumMap<>(Scenario.Operation.class);
+		for (final Scenario.Operation operation : Scenario.Operation.values()) {
+			recorders.put(operation, new LatencyRecorder());
+		}
+		this.recorders = recorders;
+		this.errors.clear();
+		this.dropped.reset();
+
+		final Semaphore permits = new Semaphore(this.concurrency);
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+		if (this.rate > 0) {
+			final long interval = (long) (1e9 / this.rate);
+			long next = System.nanoTime();
+			while (next < deadline) {
+				final long now = System.nanoTime();
+				if (next > now) {
+					LockSupport.parkNanos(next - now);
+				}
+				final long scheduledStart = next;
+				next += interval;
+				if (!permits.tryAcquire()) {
+					this.dropped.increment();
+					continue;
+				}
+				this.workers.execute(() -> {
+					try {
+						runOperation(scheduledStart);
+					} finally {
+						permits.release();
+					}
+				});
+			}
+		} else {
+			for (int i = 0; i < this.concurrency; i++) {
+				permits.acquire();
+				this.workers.execute(() -> {
+					try {
+						while (System.nanoTime() < deadline) {
+							runOperation(System.nanoTime());
+						}
+					} finally {
+						permits.release();
+					}
+				});
+			}
+		}
+
+		// Wait for the operations in progress, all permits are back when the workers are idle
+		permits.tryAcquire(this.concurrency, 1, TimeUnit.MINUTES);
+	}
+
+	private void runOperation(final long start) {
+		final SplittableRandom random = this.random.get();
+		final Scenario.Operation operation = this.scenario.next(random);
+		boolean error = false;
+		try {
+			operation.run(this.context, random);
+		} catch (final NamelessException | RuntimeException e) {
+			error = true;
+			final String type = e instanceof ApiException
+					? ((ApiException) e).apiError().toString()
+					: e.getClass().getSimpleName();
+			this.errors.computeIfAbsent(operation.displayName + ": " + type, k -> new LongAdder()).increment();
+		}
+		this.recorders.get(operation).record(System.nanoTime() - start, error);
+	}
+
+	private void report(final double seconds) {
+		long total = 0;
+		System.out.printf(Locale.ROOT, "%n%-12s %9s %9s %8s %8s %8s %8s %8s %8s%n",
+				"operation", "count", "ops/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		for (final Map.Entry<Scenario.Operation, LatencyRecorder> entry : this.recorders.entrySet()) {
+			final LatencyRecorder.Snapshot snapshot = entry.getValue().snapshot();
+			if (snapshot.count() == 0) {
+				continue;
+			}
+			total += snapshot.count();
+			System.out.printf(Locale.ROOT, "%-12s %9d %9.1f %8d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+					entry.getKey().displayName, snapshot.count(), snapshot.count() / seconds, snapshot.errors,
+					snapshot.percentileMillis(0.5), snapshot.percentileMillis(0.9), snapshot.percentileMillis(0.99),
+					snapshot.percentileMillis(0.999), snapshot.percentileMillis(1));
+		}
+		System.out.printf(Locale.ROOT, "Total: %d operations, %.1f ops/s", total, total / seconds);
+		if (this.rate > 0) {
+			System.out.printf(Locale.ROOT, ", %d dropped because all workers were busy", this.dropped.sum());
+		}
+		System.out.println();
+		if (!this.errors.isEmpty()) {
+			System.out.println("Errors:");
+			this.errors.forEach((type, count) -> System.out.printf(Locale.ROOT, "  %s: %d%n", type, count.sum()));
+		}
+	}
+
+	/**
+	 * Bytes allocated by live threads. The workers live until the JVM exits, so they are all counted. Threads of the
+	 * HTTP client and the stub website are pooled and only terminate after being idle, so not during a measurement.
+	 */
+	private static long allocatedBytes() {
+		final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long total = 0;
+		for (final long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+			if (allocated > 0) {
+				total += allocated;
+			}
+		}
+		return total;
+	}
+
+	private static long gcCount() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+	}
+
+	private static long gcTimeMillis() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+	}
+
+}
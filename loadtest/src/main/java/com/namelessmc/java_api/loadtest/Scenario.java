@@ -0,0 +1,144 @@
+package com.namelessmc.java_api.loadtest;
+
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.modules.store.PendingCommandsResponse;
+import com.namelessmc.java_api.modules.store.StoreAPI;
+import com.namelessmc.java_api.modules.websend.WebsendAPI;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Traffic mix, as weights for each {@link Operation}
+ */
+enum Scenario {
+
+	LOGIN(100, 0, 0),
+	STORE(0, 100, 0),
+	CONSOLE(0, 0, 100),
+	// Roughly what a network of proxies and game servers sends at the start of a season
+	MIXED(85, 10, 5),
+
+	;
+
+	private final int loginWeight;
+	private final int storeWeight;
+	private final int consoleWeight;
+
+	Scenario(final int loginWeight, final int storeWeight, final int consoleWeight) {
+		this.loginWeight = loginWeight;
+		this.storeWeight = storeWeight;
+		this.consoleWeight = consoleWeight;
+	}
+
+	Operation next(final SplittableRandom random) {
+		final int value = random.nextInt(this.loginWeight + this.storeWeight + this.consoleWeight);
+		if (value < this.loginWeight) {
+			return Operation.LOGIN;
+		} else if (value < this.loginWeight + this.storeWeight) {
+			return Operation.STORE_POLL;
+		} else {
+			return Operation.CONSOLE_LOG;
+		}
+	}
+
+	static Scenario parse(final String name) {
+		return Scenario.valueOf(name.toUpperCase(Locale.ROOT));
+	}
+
+	enum Operation {
+
+		/**
+		 * Player joins a proxy: look up the user by Minecraft UUID, then read groups and integrations
+		 */
+		LOGIN("login") {
+			@Override
+			void run(final Context context, final SplittableRandom random) throws NamelessException {
+				final NamelessUser user = context.api.userByMinecraftUuid(context.player(random));
+				if (user != null) {
+					user.groups();
+					user.integrations();
+				}
+			}
+		},
+
+		/**
+		 * Game server polls for store commands and marks them as executed
+		 */
+		STORE_POLL("store-poll") {
+			@Override
+			void run(final Context context, final SplittableRandom random) throws NamelessException {
+				final PendingCommandsResponse response = context.store.pendingCommands(1);
+				final List<PendingCommandsResponse.PendingCommand> commands = new ArrayList<>();
+				for (final PendingCommandsResponse.PendingCommandsCustomer customer : response.customers()) {
+					commands.addAll(customer.pendingCommands());
+				}
+				if (!commands.isEmpty()) {
+					context.store.markCommandsExecuted(commands);
+				}
+			}
+		},
+
+		/**
+		 * Game server ships its console log
+		 */
+		CONSOLE_LOG("console-log") {
+			@Override
+			void run(final Context context, final SplittableRandom random) throws NamelessException {
+				context.websend.sendConsoleLog(1, context.consoleLines);
+			}
+		},
+
+		;
+
+		final String displayName;
+
+		Operation(final String displayName) {
+			this.displayName = displayName;
+		}
+
+		abstract void run(Context context, SplittableRandom random) throws NamelessException;
+
+	}
+
+	static class Context {
+
+		private final NamelessAPI api;
+		private final StoreAPI store;
+		private final WebsendAPI websend;
+		private final List<String> consoleLines;
+		private final int players;
+		private final IntFunction<UUID> playerUuid;
+
+		/**
+		 * @param playerUuid Minecraft UUID of player {@code 0} to {@code players - 1}
+		 */
+		Context(final NamelessAPI api, final Scenario scenario, final int players, final IntFunction<UUID> playerUuid,
+				final int consoleLines) throws NamelessException {
+			this.api = api;
+			this.store = scenario.storeWeight > 0 ? api.store() : null;
+			this.websend = scenario.consoleWeight > 0 ? api.websend() : null;
+			this.players = players;
+			this.playerUuid = playerUuid;
+			final List<String> lines = new ArrayList<>(consoleLines);
+			for (int i = 0; i < consoleLines; i++) {
+				lines.add("[12:00:" + String.format("%02d", i % 60) + " INFO]: Player" + i + " issued server command: /spawn");
+			}
+			this.consoleLines = Collections.unmodifiableList(lines);
+		}
+
+		private UUID player(final SplittableRandom random) {
+			// Stable set of players, so repeated logins can hit the user cache if enabled
+			return this.playerUuid.apply(random.nextInt(this.players));
+		}
+
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.namelessmc.java_api;
+
+import com.namelessmc.java_api.exception.CircuitBreakerOpenException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops sending requests when the website appears to be down, configured using
+ * {@link NamelessApiBuilder#circuitBreaker(double, int, Duration)}.
+ *
+ * <p>The outcome of recent requests is kept in a window. A request fails if no response was received (network
+ * error or timeout) or the response status code is 500 or higher. API errors are normal responses. When the
+ * failure rate in a full window reaches the threshold, the circuit opens and requests fail immediately with a
+ * {@link CircuitBreakerOpenException}. After the open duration, a single probe request is let through (half open).
+ * If it succeeds the circuit closes, otherwise it opens again.</p>
+ */
+public final class CircuitBreaker {
+
+	public enum State {
+		/** Requests are sent normally */
+		CLOSED,
+		/** Requests fail immediately */
+		OPEN,
+		/** One probe request is sent, to find out if the website is back up */
+		HALF_OPEN,
+	}
+
+	private final double failureRateThreshold;
+	private final long openDurationNanos;
+
+	// Ring buffer of recent outcomes, true for failure
+	private final boolean[] window;
+	private int windowPosition = 0;
+	private int windowCount = 0;
+	private int windowFailures = 0;
+
+	private State state = State.CLOSED;
+	private long openedAtNanos;
+	private boolean probeInProgress = false;
+
+	CircuitBreaker(final double failureRateThreshold,
+				   final int windowSize,
+				   final @NonNull Duration openDuration) {
+		this.failureRateThreshold = failureRateThreshold;
+		this.window = new boolean[windowSize];
+		this.openDurationNanos = openDuration.toNanos();
+	}
+
+	/**
+	 * Must be called before sending a request. If no exception is thrown, the request must be followed by a call to
+	 * {@link #onResult(boolean, boolean)} or {@link #onIgnored(boolean)}.
+	 * @return True if the request is a probe request
+	 * @throws CircuitBreakerOpenException If the request should not be sent
+	 */
+	synchronized boolean acquire() throws CircuitBreakerOpenException {
+		switch (this.state) {
+			case CLOSED:
+				return false;
+			case OPEN:
+				final long remainingNanos = this.openedAtNanos + this.openDurationNanos - System.nanoTime();
+				if (remainingNanos > 0) {
+					throw new CircuitBreakerOpenException("Not sending request, because too many recent requests " +
+							"failed. Website is probably down. Will try again in " +
+							TimeUnit.NANOSECONDS.toSeconds(remainingNanos) + " seconds.");
+				}
+				this.state = State.HALF_OPEN;
+				this.probeInProgress = true;
+				return true;
+			case HALF_OPEN:
+				if (this.probeInProgress) {
+					throw new CircuitBreakerOpenException("Not sending request, because too many recent requests " +
+							"failed. Waiting for a test request to find out if the website is back up.");
+				}
+				this.probeInProgress = true;
+				return true;
+			default:
+				throw new IllegalStateException(this.state.name());
+		}
+	}
+
+	/**
+	 * @param probe Value returned by {@link #acquire()}
+	 * @param success False if the website appears to be down
+	 */
+	synchronized void onResult(final boolean probe, final boolean success) {
+		if (probe) {
+			this.probeInProgress = false;
+			if (success) {
+				this.state = State.CLOSED;
+				this.windowPosition = 0;
+				this.windowCount = 0;
+				this.windowFailures = 0;
+			} else {
+				open();
+			}
+			return;
+		}
+
+		if (this.state != State.CLOSED) {
+			// Request was sent before the circuit opened
+			return;
+		}
+
+		if (this.windowCount == this.window.length) {
+			if (this.window[this.windowPosition]) {
+				this.windowFailures--;
+			}
+		} else {
+			this.windowCount++;
+		}
+		this.window[this.windowPosition] = !success;
+		if (!success) {
+			this.windowFailures++;
+		}
+		this.windowPosition = (this.windowPosition + 1) % this.window.length;
+
+		if (this.windowCount == this.window.length &&
+				this.windowFailures >= this.failureRateThreshold * this.window.length) {
+			open();
+		}
+	}
+
+	/**
+	 * Called instead of {@link #onResult(boolean, boolean)} when a request was not sent after all, for example
+	 * because of the rate limit.
+	 * @param probe Value returned by {@link #acquire()}
+	 */
+	synchronized void onIgnored(final boolean probe) {
+		if (probe) {
+			this.probeInProgress = false;
+		}
+	}
+
+	private void open() {
+		this.state = State.OPEN;
+		this.openedAtNanos = System.nanoTime();
+	}
+
+	public synchronized @NonNull State state() {
+		return this.state;
+	}
+
+	/**
+	 * @return Fraction of failed requests in the current window, between 0 and 1
+	 */
+	public synchronized double failureRate() {
+		return this.windowCount == 0 ? 0 : (double) this.windowFailures / this.windowCount;
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.namelessmc.java_api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts responses by HTTP version, as an indication of connection reuse. The Java HTTP client does not expose
+ * its connection pool, so connections are not counted directly. HTTP/2 responses share a single multiplexed
+ * connection per host. HTTP/1.1 responses reuse a pooled connection, unless the server responded with
+ * {@code Connection: close}.
+ */
+public final class ConnectionStats {
+
+	private final AtomicLong http1Responses = new AtomicLong();
+	private final AtomicLong http2Responses = new AtomicLong();
+	private final AtomicLong connectionCloseResponses = new AtomicLong();
+
+	ConnectionStats() {}
+
+	void record(final HttpClient.@NonNull Version version, final @NonNull HttpHeaders headers) {
+		if (version == HttpClient.Version.HTTP_2) {
+			this.http2Responses.incrementAndGet();
+		} else {
+			this.http1Responses.incrementAndGet();
+			if (headers.firstValue("Connection")
+					.filter(value -> value.equalsIgnoreCase("close"))
+					.isPresent()) {
+				this.connectionCloseResponses.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * @return Number of responses received over HTTP/1.1
+	 */
+	public long http1Responses() {
+		return this.http1Responses.get();
+	}
+
+	/**
+	 * @return Number of responses received over HTTP/2
+	 */
+	public long http2Responses() {
+		return this.http2Responses.get();
+	}
+
+	/**
+	 * @return Number of HTTP/1.1 responses after which the server closed the connection, so the next request
+	 * had to open a new connection. A high number compared to {@link #http1Responses()} means keep-alive is
+	 * disabled on the web server.
+	 */
+	public long connectionCloseResponses() {
+		return this.connectionCloseResponses.get();
+	}
+
+	@Override
+	public String toString() {
+		return "ConnectionStats[http1Responses=" + http1Responses() +
+				", http2Responses=" + http2Responses() +
+				", connectionCloseResponses=" + connectionCloseResponses() + "]";
+	}
+
+}
@@ -1,19 +1,33 @@
 package com.namelessmc.java_api;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
+import com.google.common.base.Preconditions;
 import com.google.gson.JsonObject;
 import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.exception.UncheckedNamelessException;
+import com.namelessmc.java_api.util.FutureHelper;
+import com.namelessmc.java_api.util.JsonDecoder;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class FilteredUserListBuilder {
 
 	private final @NonNull NamelessAPI api;
 	private @Nullable Map<UserFilter<?>, Object> filters;
 	private @NonNull String operator = "AND";
+	private int pageSize = 100;
+	private boolean prefetch = false;
+	private int parallelism = 0;
+	private @Nullable IntConsumer progressListener = null;
 
 	FilteredUserListBuilder(@NonNull NamelessAPI api) {
 		this.api = api;
@@ -42,37 +56,346 @@ public class FilteredUserListBuilder {
 		return this;
 	}
 
+	/**
+	 * Number of users to request at once when using {@link #iterator()} or {@link #stream()}. Default 100.
+	 * @param pageSize Users per page
+	 */
+	public @NonNull FilteredUserListBuilder pageSize(final int pageSize) {
+		Preconditions.checkArgument(pageSize > 0, "Page size must be positive");
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	/**
+	 * When using {@link #iterator()} or {@link #stream()}, request the next page in the background while the
+	 * current page is being processed. At most two pages are held in memory.
+	 */
+	public @NonNull FilteredUserListBuilder prefetch() {
+		this.prefetch = true;
+		return this;
+	}
+
+	/**
+	 * Make {@link #makeRequest()} split the user list into pages of {@link #pageSize(int)} users, requesting up to
+	 * the given number of pages concurrently. This is faster for large user lists, and avoids the response size
+	 * limit. Requires a NamelessMC version that supports the <code>offset</code> parameter.
+	 * @param parallelism Maximum number of concurrent page requests
+	 */
+	public @NonNull FilteredUserListBuilder parallelism(final int parallelism) {
+		Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * Listener called with the total number of users received so far, every time a page is received when using
+	 * {@link #parallelism(int)}. May be called from different threads, but never concurrently.
+	 * @param progressListener Progress listener, or null to remove
+	 */
+	public @NonNull FilteredUserListBuilder progressListener(final @Nullable IntConsumer progressListener) {
+		this.progressListener = progressListener;
+		return this;
+	}
+
 	public JsonObject makeRawRequest() throws NamelessException {
-		final Object[] parameters;
-		if (filters != null) {
-			int filterCount = filters.size();
-			parameters = new Object[2 + 4 + filterCount * 2];
-			int i = 2;
-			parameters[i++] = "operator";
-			parameters[i++] = operator;
-			parameters[i++] = "limit";
-			parameters[i++] = 0;
-			for (Map.Entry<UserFilter<?>, Object> filter : this.filters.entrySet()) {
-				parameters[i++] = filter.getKey().name();
-				parameters[i++] = filter.getValue();
+		return this.api.requests().get("users", parameters(this.filters, this.operator, 0, -1));
+	}
+
+	private static @Nullable Object[] parameters(final @Nullable Map<UserFilter<?>, Object> filters,
+									   final @NonNull String operator,
+									   final int limit,
+									   final int offset) {
+		final List<@Nullable Object> parameters = new ArrayList<>();
+		parameters.add("groups"); // Request NamelessMC to include groups in response
+		parameters.add(null);
+
+		if (filters != null || offset >= 0) {
+			parameters.add("operator");
+			parameters.add(operator);
+			parameters.add("limit");
+			parameters.add(limit);
+			if (offset >= 0) {
+				parameters.add("offset");
+				parameters.add(offset);
+			}
+			if (filters != null) {
+				for (Map.Entry<UserFilter<?>, Object> filter : filters.entrySet()) {
+					parameters.add(filter.getKey().name());
+					parameters.add(filter.getValue());
+				}
 			}
-		} else {
-			parameters = new Object[2];
 		}
 
-		parameters[0] = "groups"; // Request NamelessMC to include groups in response
-
-		return this.api.requests().get("users", parameters);
+		return parameters.toArray();
 	}
 
+	/**
+	 * Make the request, decoding users while the response is being received.
+	 * @return Unmodifiable list of users
+	 */
 	public @NonNull List<@NonNull NamelessUser> makeRequest() throws NamelessException {
-		final JsonObject response = this.makeRawRequest();
-		final JsonArray array = response.getAsJsonArray("users");
-		final List<NamelessUser> users = new ArrayList<>(array.size());
-		for (final JsonElement e : array) {
-			users.add(new NamelessUser(this.api, e.getAsJsonObject()));
+		if (this.parallelism > 0) {
+			return makeParallelRequest();
+		}
+
+		return this.api.requests().getList("users", "users", userDecoder(),
+				parameters(this.filters, this.operator, 0, -1));
+	}
+
+	/**
+	 * Users are mutable, so each request gets its own decoder instance. Requests with different decoder instances
+	 * are never coalesced, so user lists are not shared with other callers.
+	 */
+	private @NonNull JsonDecoder<NamelessUser> userDecoder() {
+		return JsonDecoder.fromJsonObject(userInfo -> new NamelessUser(this.api, userInfo));
+	}
+
+	private @NonNull List<@NonNull NamelessUser> makeParallelRequest() throws NamelessException {
+		final ParallelScan scan = new ParallelScan(this.filters != null ? new HashMap<>(this.filters) : null,
+				this.operator, this.pageSize, this.progressListener);
+
+		final CompletableFuture<?>[] workers = new CompletableFuture<?>[this.parallelism];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = scan.requestNextPage();
+		}
+
+		try {
+			CompletableFuture.allOf(workers).get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = FutureHelper.unwrap(e);
+			if (cause instanceof NamelessException) {
+				throw (NamelessException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		} catch (final InterruptedException e) {
+			scan.stop();
+			throw new NamelessException("Interrupted while waiting for user list pages", e);
+		}
+
+		return scan.merge();
+	}
+
+	/**
+	 * State shared by concurrent page requests. Each worker requests the next page that hasn't been
+	 * requested yet, until a page with fewer users than the page size is received.
+	 */
+	private class ParallelScan {
+
+		private final @Nullable Map<UserFilter<?>, Object> filters;
+		private final @NonNull String operator;
+		private final int pageSize;
+		private final @Nullable IntConsumer progressListener;
+		private final @NonNull JsonDecoder<NamelessUser> decoder = userDecoder();
+
+		private final AtomicInteger nextPage = new AtomicInteger();
+		// Index of the first page with fewer users than the page size, there are no users after this page
+		private final AtomicInteger lastPage = new AtomicInteger(Integer.MAX_VALUE);
+		private final ConcurrentMap<Integer, List<NamelessUser>> pages = new ConcurrentHashMap<>();
+		private int usersReceived = 0;
+
+		private ParallelScan(final @Nullable Map<UserFilter<?>, Object> filters,
+							 final @NonNull String operator,
+							 final int pageSize,
+							 final @Nullable IntConsumer progressListener) {
+			this.filters = filters;
+			this.operator = operator;
+			this.pageSize = pageSize;
+			this.progressListener = progressListener;
+		}
+
+		private CompletableFuture<Void> requestNextPage() {
+			final int page = this.nextPage.getAndIncrement();
+			if (page > this.lastPage.get()) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			return FilteredUserListBuilder.this.api.requests()
+					.getListAsync("users", "users", this.decoder,
+							parameters(this.filters, this.operator, this.pageSize, page * this.pageSize))
+					.thenCompose(users -> {
+						this.receivePage(page, users);
+						return this.requestNextPage();
+					})
+					.whenComplete((ignored, throwable) -> {
+						if (throwable != null) {
+							this.stop();
+						}
+					});
+		}
+
+		private void receivePage(final int page, final List<NamelessUser> users) {
+			if (users.size() < this.pageSize) {
+				this.lastPage.accumulateAndGet(page, Math::min);
+			}
+
+			final List<NamelessUser> firstPage = this.pages.get(0);
+			if (page > 0 && firstPage != null && !firstPage.isEmpty() && !users.isEmpty() &&
+					userId(users.get(0)) <= userId(firstPage.get(0))) {
+				throw new IllegalStateException("Website returned user " + userId(users.get(0)) + " again in a later page. " +
+						"Does your NamelessMC version support the offset parameter?");
+			}
+
+			this.pages.put(page, users);
+
+			synchronized (this) {
+				this.usersReceived += users.size();
+				if (this.progressListener != null) {
+					this.progressListener.accept(this.usersReceived);
+				}
+			}
+		}
+
+		private void stop() {
+			this.lastPage.set(-1);
+		}
+
+		private @NonNull List<@NonNull NamelessUser> merge() {
+			final List<NamelessUser> users = new ArrayList<>();
+			for (int page = 0; page <= this.lastPage.get(); page++) {
+				final List<NamelessUser> pageUsers = this.pages.get(page);
+				if (pageUsers == null) {
+					throw new IllegalStateException("Missing page " + page);
+				}
+				users.addAll(pageUsers);
+			}
+			users.sort(Comparator.comparingInt(FilteredUserListBuilder::userId));
+			return Collections.unmodifiableList(users);
+		}
+
+	}
+
+	/**
+	 * Iterate over users, requesting one page of {@link #pageSize(int)} users at a time. Pages are only requested
+	 * when needed, so memory usage does not depend on the total number of users. Requires a NamelessMC version
+	 * that supports the <code>offset</code> parameter.
+	 * @return Iterator throwing {@link UncheckedNamelessException} if a page request fails
+	 */
+	public @NonNull Iterator<@NonNull NamelessUser> iterator() {
+		return new PagedUserIterator(this.filters != null ? new HashMap<>(this.filters) : null,
+				this.operator, this.pageSize, this.prefetch);
+	}
+
+	/**
+	 * Same as {@link #iterator()}, as a sequential stream.
+	 * @return Stream throwing {@link UncheckedNamelessException} if a page request fails
+	 */
+	public @NonNull Stream<@NonNull NamelessUser> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.iterator(),
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	private class PagedUserIterator implements Iterator<NamelessUser> {
+
+		private final @Nullable Map<UserFilter<?>, Object> filters;
+		private final @NonNull String operator;
+		private final int pageSize;
+		private final boolean prefetch;
+		private final @NonNull JsonDecoder<NamelessUser> decoder = userDecoder();
+
+		private Iterator<NamelessUser> page = Collections.emptyIterator();
+		private @Nullable CompletableFuture<List<NamelessUser>> nextPage = null;
+		private int offset = 0;
+		private boolean lastPage = false;
+		private int lastId = -1;
+
+		private PagedUserIterator(final @Nullable Map<UserFilter<?>, Object> filters,
+								  final @NonNull String operator,
+								  final int pageSize,
+								  final boolean prefetch) {
+			this.filters = filters;
+			this.operator = operator;
+			this.pageSize = pageSize;
+			this.prefetch = prefetch;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (!this.page.hasNext()) {
+				if (this.lastPage) {
+					return false;
+				}
+				this.page = this.nextPage().iterator();
+			}
+			return true;
+		}
+
+		@Override
+		public NamelessUser next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return this.page.next();
+		}
+
+		private List<NamelessUser> nextPage() {
+			final List<NamelessUser> users;
+			try {
+				if (this.nextPage != null) {
+					users = this.nextPage.get();
+					this.nextPage = null;
+				} else {
+					users = this.requestPage(this.offset);
+				}
+			} catch (final NamelessException e) {
+				this.lastPage = true;
+				throw new UncheckedNamelessException(e);
+			} catch (final ExecutionException e) {
+				this.lastPage = true;
+				final Throwable cause = FutureHelper.unwrap(e);
+				if (cause instanceof NamelessException) {
+					throw new UncheckedNamelessException((NamelessException) cause);
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IllegalStateException(cause);
+			} catch (final InterruptedException e) {
+				this.lastPage = true;
+				Thread.currentThread().interrupt();
+				throw new UncheckedNamelessException(new NamelessException("Interrupted while waiting for page", e));
+			}
+
+			// Check before prefetching, so no request is left running when this throws
+			if (!users.isEmpty()) {
+				final int firstId = userId(users.get(0));
+				if (firstId <= this.lastId) {
+					this.lastPage = true;
+					throw new IllegalStateException("Website returned user " + firstId + " again in a later page. " +
+							"Does your NamelessMC version support the offset parameter?");
+				}
+				this.lastId = userId(users.get(users.size() - 1));
+			}
+
+			this.offset += this.pageSize;
+
+			if (users.size() < this.pageSize) {
+				this.lastPage = true;
+			} else if (this.prefetch) {
+				// Asynchronous request, so no executor thread is blocked waiting for the response
+				this.nextPage = FilteredUserListBuilder.this.api.requests().getListAsync("users", "users", this.decoder,
+						parameters(this.filters, this.operator, this.pageSize, this.offset));
+			}
+
+			return users;
+		}
+
+		private List<NamelessUser> requestPage(final int offset) throws NamelessException {
+			return FilteredUserListBuilder.this.api.requests().getList("users", "users", this.decoder,
+					parameters(this.filters, this.operator, this.pageSize, offset));
+		}
+
+	}
+
+	private static int userId(final NamelessUser user) {
+		try {
+			return user.id();
+		} catch (final NamelessException e) {
+			// Users constructed from a user list response already have a known id
+			throw new IllegalStateException(e);
 		}
-		return Collections.unmodifiableList(users);
 	}
 
 }
@@ -1,6 +1,8 @@
 package com.namelessmc.java_api;
 
 import com.google.gson.JsonObject;
+import com.namelessmc.java_api.util.GsonHelper;
+import com.namelessmc.java_api.util.JsonDecoder;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -20,6 +22,45 @@ public class Group implements Comparable<Group> {
 		this.staff = group.has("staff") && group.get("staff").getAsBoolean();
 	}
 
+	private Group(final int id, final @NonNull String name, final int order, final boolean staff) {
+		this.id = id;
+		this.name = name;
+		this.order = order;
+		this.staff = staff;
+	}
+
+	/**
+	 * Decoder reading a group from a token stream directly, without creating a {@link JsonObject}
+	 */
+	static final JsonDecoder<Group> DECODER = reader -> {
+		Integer id = null;
+		String name = null;
+		Integer order = null;
+		boolean staff = false;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "name":
+					name = reader.nextString();
+					break;
+				case "order":
+					order = reader.nextInt();
+					break;
+				case "staff":
+					staff = GsonHelper.nextBoolean(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new Group(GsonHelper.required(id, "id"), GsonHelper.required(name, "name"),
+				GsonHelper.required(order, "order"), staff);
+	};
+
 	public int getId() {
 		return this.id;
 	}
@@ -1,5 +1,6 @@
 package com.namelessmc.java_api;
 
+import com.google.common.cache.Cache;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -10,17 +11,24 @@ import com.namelessmc.java_api.exception.MissingModuleException;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.integrations.IntegrationData;
 import com.namelessmc.java_api.integrations.StandardIntegrationTypes;
+import com.namelessmc.java_api.metrics.ApiCacheEvent;
+import com.namelessmc.java_api.metrics.RouteMetrics;
 import com.namelessmc.java_api.modules.NamelessModule;
 import com.namelessmc.java_api.modules.discord.DiscordAPI;
 import com.namelessmc.java_api.modules.store.StoreAPI;
 import com.namelessmc.java_api.modules.suggestions.SuggestionsAPI;
 import com.namelessmc.java_api.modules.websend.WebsendAPI;
+import com.namelessmc.java_api.util.FutureHelper;
+import com.namelessmc.java_api.util.UuidCodec;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.math.BigInteger;
 import java.net.URL;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -32,22 +40,44 @@ public final class NamelessAPI {
 	private final @NonNull URL apiUrl;
 	private final @NonNull String apiKey;
 
-	private static final long CACHED_WEBSITE_INFO_VALIDITY = 60_000;
-	private @Nullable Website cachedWebsiteInfo = null;
-	private long cachedWebsiteInfoTime = 0;
+	private final long websiteInfoValidityNanos;
+	private final long websiteInfoStaleValidityNanos;
+	// Immutable, replaced as a whole so readers never see a website with the wrong timestamp
+	private volatile @Nullable CachedWebsiteInfo cachedWebsiteInfo = null;
+	// Only one info request at a time, concurrent callers wait for the same request
+	private final AtomicReference<@Nullable CompletableFuture<Website>> websiteInfoRequest = new AtomicReference<>();
+
+	private final @Nullable UserCache userCache;
+	// User transformers that recently returned NAMELESS_CANNOT_FIND_USER
+	private final @Nullable Cache<String, Boolean> unknownUserCache;
 
 	NamelessAPI(final @NonNull RequestHandler requests,
 				final @NonNull URL apiUrl,
-				final @NonNull String apiKey) {
+				final @NonNull String apiKey,
+				final @NonNull Duration websiteInfoValidity,
+				final @NonNull Duration websiteInfoStaleValidity,
+				final @Nullable UserCache userCache,
+				final @Nullable Cache<String, Boolean> unknownUserCache) {
 		this.requests = Objects.requireNonNull(requests, "Request handler is null");
 		this.apiUrl = apiUrl;
 		this.apiKey = apiKey;
+		this.websiteInfoValidityNanos = websiteInfoValidity.toNanos();
+		this.websiteInfoStaleValidityNanos = websiteInfoStaleValidity.toNanos();
+		this.userCache = userCache;
+		this.unknownUserCache = unknownUserCache;
 	}
 
 	public @NonNull RequestHandler requests() {
 		return this.requests;
 	}
 
+	/**
+	 * @return Snapshot of request metrics by route template, like {@code users/{transformer}}
+	 */
+	public @NonNull Map<String, RouteMetrics> metrics() {
+		return this.requests.metrics().snapshot();
+	}
+
 	public @NonNull URL apiUrl() {
 		return this.apiUrl;
 	}
@@ -66,6 +96,14 @@ public final class NamelessAPI {
 		return announcements(response);
 	}
 
+	/**
+	 * Same as {@link #announcements()}, but without blocking the calling thread.
+	 * @return Future completed with a list of announcements
+	 */
+	public @NonNull CompletableFuture<@NonNull List<@NonNull Announcement>> announcementsAsync() {
+		return this.requests.getAsync("announcements").thenApply(NamelessAPI::announcements);
+	}
+
 	/**
 	 * Convert announcement json to objects
 	 * @param response Announcements json API response
@@ -86,12 +124,24 @@ public final class NamelessAPI {
 		this.requests.post("minecraft/server-info", jsonData);
 	}
 
+	public @NonNull CompletableFuture<Void> submitServerInfoAsync(final @NonNull JsonObject jsonData) {
+		return this.requests.postAsync("minecraft/server-info", jsonData).thenAccept(response -> {});
+	}
+
 	/**
 	 * Send Minecraft groups to website. Only available in Nameless 2.1.0+
 	 * @param groups
 	 * @throws NamelessException
 	 */
 	public void sendMinecraftGroups(final int serverId, final Map<UUID, Set<String>> groups) throws NamelessException {
+		this.requests.post("minecraft/update-groups", minecraftGroupsBody(serverId, groups));
+	}
+
+	public @NonNull CompletableFuture<Void> sendMinecraftGroupsAsync(final int serverId, final Map<UUID, Set<String>> groups) {
+		return this.requests.postAsync("minecraft/update-groups", minecraftGroupsBody(serverId, groups)).thenAccept(response -> {});
+	}
+
+	private @NonNull JsonObject minecraftGroupsBody(final int serverId, final Map<UUID, Set<String>> groups) {
 		final JsonObject groupsJson = new JsonObject();
 		final Gson gson = this.requests().gson();
 		groups.forEach((uuid, playerGroups) -> {
@@ -103,29 +153,161 @@ public final class NamelessAPI {
 		JsonObject body = new JsonObject();
 		body.addProperty("server_id", serverId);
 		body.add("player_groups", groupsJson);
-
-		this.requests.post("minecraft/update-groups", body);
+		return body;
 	}
 
 	/**
-	 * Get website information
+	 * Get website information. The response is cached, see {@link NamelessApiBuilder#websiteInfoCache(Duration, Duration)}.
+	 * If multiple threads need website information at the same time, only one request is made.
 	 * @return {@link Website} object containing website information
 	 */
 	public Website website() throws NamelessException {
-		if (this.cachedWebsiteInfoTime + CACHED_WEBSITE_INFO_VALIDITY > System.currentTimeMillis() &&
-				this.cachedWebsiteInfo != null) {
-			return this.cachedWebsiteInfo;
+		final CachedWebsiteInfo cached = this.cachedWebsiteInfo;
+		if (cached != null) {
+			final long age = System.nanoTime() - cached.time;
+			if (age < this.websiteInfoValidityNanos) {
+				ApiCacheEvent.emit("website-info", true);
+				return cached.website;
+			}
+			if (age < this.websiteInfoValidityNanos + this.websiteInfoStaleValidityNanos) {
+				// Serve the stale response, while updating the cache in the background
+				ApiCacheEvent.emit("website-info", true);
+				this.requestWebsiteInfo();
+				return cached.website;
+			}
 		}
 
-		final JsonObject json = this.requests.get("info");
-		final Website website = new Website(json);
-		this.cachedWebsiteInfo = website;
-		this.cachedWebsiteInfoTime = System.currentTimeMillis();
-		return website;
+		ApiCacheEvent.emit("website-info", false);
+		try {
+			return this.requestWebsiteInfo().get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = FutureHelper.unwrap(e);
+			if (cause instanceof NamelessException) {
+				throw (NamelessException) cause;
+			}
+			throw new NamelessException("Unexpected exception while getting website info", cause);
+		} catch (final InterruptedException e) {
+			throw new NamelessException("Interrupted while waiting for website info", e);
+		}
+	}
+
+	/**
+	 * Same as {@link #website()}, but without blocking the calling thread.
+	 * @return Future completed with a {@link Website} object containing website information
+	 */
+	public @NonNull CompletableFuture<Website> websiteAsync() {
+		final CachedWebsiteInfo cached = this.cachedWebsiteInfo;
+		if (cached != null) {
+			final long age = System.nanoTime() - cached.time;
+			if (age < this.websiteInfoValidityNanos) {
+				ApiCacheEvent.emit("website-info", true);
+				return CompletableFuture.completedFuture(cached.website);
+			}
+			if (age < this.websiteInfoValidityNanos + this.websiteInfoStaleValidityNanos) {
+				ApiCacheEvent.emit("website-info", true);
+				this.requestWebsiteInfo();
+				return CompletableFuture.completedFuture(cached.website);
+			}
+		}
+
+		ApiCacheEvent.emit("website-info", false);
+		return this.requestWebsiteInfo();
+	}
+
+	/**
+	 * Start an info request and update the cache when it completes, or join the info request that is already in progress.
+	 * @return Future for the in-progress request
+	 */
+	private @NonNull CompletableFuture<Website> requestWebsiteInfo() {
+		final CompletableFuture<Website> future = new CompletableFuture<>();
+		while (true) {
+			final CompletableFuture<Website> inProgress = this.websiteInfoRequest.get();
+			if (inProgress != null) {
+				return inProgress;
+			}
+			if (this.websiteInfoRequest.compareAndSet(null, future)) {
+				break;
+			}
+		}
+
+		this.requests.getAsync("info").whenComplete((json, throwable) -> {
+			Website website = null;
+			Throwable failure = throwable;
+			if (failure == null) {
+				try {
+					website = new Website(json);
+					this.cachedWebsiteInfo = new CachedWebsiteInfo(website, System.nanoTime());
+				} catch (final NamelessException e) {
+					failure = e;
+				}
+			}
+
+			// Allow new requests before completing, so callbacks don't join this request again
+			this.websiteInfoRequest.compareAndSet(future, null);
+
+			if (failure != null) {
+				future.completeExceptionally(FutureHelper.unwrap(failure));
+			} else if (website == null) {
+				future.completeExceptionally(new IllegalStateException("Website info request completed without a response"));
+			} else {
+				future.complete(website);
+			}
+		});
+
+		return future;
 	}
 
 	public @Nullable Website websiteIfCached() {
-		return this.cachedWebsiteInfo;
+		final CachedWebsiteInfo cached = this.cachedWebsiteInfo;
+		return cached != null ? cached.website : null;
+	}
+
+	private static class CachedWebsiteInfo {
+
+		private final @NonNull Website website;
+		private final long time;
+
+		private CachedWebsiteInfo(final @NonNull Website website, final long time) {
+			this.website = website;
+			this.time = time;
+		}
+
+	}
+
+	@Nullable UserCache userCache() {
+		return this.userCache;
+	}
+
+	/**
+	 * Remove all users from the shared user cache, see {@link NamelessApiBuilder#userCache(int, Duration)}. Use
+	 * {@link NamelessUser#invalidateCache()} to remove a single user.
+	 */
+	public void invalidateUserCache() {
+		if (this.userCache != null) {
+			this.userCache.invalidateAll();
+		}
+		invalidateUnknownUserCache();
+	}
+
+	private void invalidateUnknownUserCache() {
+		if (this.unknownUserCache != null) {
+			this.unknownUserCache.invalidateAll();
+		}
+	}
+
+	private boolean isKnownUnknownUser(final @NonNull NamelessUser user) {
+		if (this.unknownUserCache == null) {
+			return false;
+		}
+		final boolean unknown = this.unknownUserCache.getIfPresent(user.userTransformer()) != null;
+		ApiCacheEvent.emit("unknown-user", unknown);
+		return unknown;
+	}
+
+	private void rememberUnknownUser(final @NonNull NamelessUser user) {
+		if (this.unknownUserCache != null) {
+			this.unknownUserCache.put(user.userTransformer(), Boolean.TRUE);
+		}
 	}
 
 	public FilteredUserListBuilder users() {
@@ -133,17 +315,47 @@ public final class NamelessAPI {
 	}
 
 	public @Nullable NamelessUser userAsNullable(NamelessUser user) throws NamelessException {
+		if (isKnownUnknownUser(user)) {
+			return null;
+		}
+
 		try {
 			user.userInfo();
 			return user;
 		} catch (ApiException e) {
 			if (e.apiError() == ApiError.NAMELESS_CANNOT_FIND_USER) {
+				rememberUnknownUser(user);
 				return null;
 			}
 			throw e;
 		}
 	}
 
+	/**
+	 * Same as {@link #userAsNullable(NamelessUser)}, but without blocking the calling thread. User information
+	 * is loaded once the future completes, so most methods of the returned user won't need to make API requests.
+	 * @param user Lazy user object
+	 * @return Future completed with the same user object, or null if the user doesn't exist
+	 */
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userAsNullableAsync(final @NonNull NamelessUser user) {
+		if (isKnownUnknownUser(user)) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return user.userInfoAsync().handle((userInfo, throwable) -> {
+			if (throwable == null) {
+				return user;
+			}
+			final Throwable cause = FutureHelper.unwrap(throwable);
+			if (cause instanceof ApiException &&
+					((ApiException) cause).apiError() == ApiError.NAMELESS_CANNOT_FIND_USER) {
+				rememberUnknownUser(user);
+				return null;
+			}
+			throw FutureHelper.wrap(throwable);
+		});
+	}
+
 	public @Nullable NamelessUser user(final int id) throws NamelessException {
 		return userAsNullable(userLazy(id));
 	}
@@ -168,6 +380,30 @@ public final class NamelessAPI {
 		return userAsNullable(userByDiscordUsernameLazy(username));
 	}
 
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userAsync(final int id) {
+		return userAsNullableAsync(userLazy(id));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByUsernameAsync(final @NonNull String username) {
+		return userAsNullableAsync(userByUsernameLazy(username));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByMinecraftUuidAsync(final @NonNull UUID uuid) {
+		return userAsNullableAsync(userByMinecraftUuidLazy(uuid));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByMinecraftUsernameAsync(final @NonNull String username) {
+		return userAsNullableAsync(userByMinecraftUsernameLazy(username));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByDiscordIdAsync(final long id) {
+		return userAsNullableAsync(userByDiscordIdLazy(id));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByDiscordUsernameAsync(final @NonNull String username) {
+		return userAsNullableAsync(userByDiscordUsernameLazy(username));
+	}
+
 	/**
 	 * Construct a NamelessUser object without making API requests (so without checking if the user exists)
 	 * @param id NamelessMC user id
@@ -233,8 +469,7 @@ public final class NamelessAPI {
 	 */
 	public List<Group> group(final @NonNull String name) throws NamelessException {
 		Objects.requireNonNull(name, "Group name is null");
-		final JsonObject response = this.requests.get("groups", "name", name);
-		return groupListFromJsonArray(response.getAsJsonArray("groups"));
+		return this.requests.getList("groups", "groups", Group.DECODER, "name", name);
 	}
 
 	/**
@@ -242,9 +477,15 @@ public final class NamelessAPI {
 	 * @return list of groups
 	 */
 	public List<Group> getAllGroups() throws NamelessException {
-		final JsonObject response = this.requests.get("groups");
-		return groupListFromJsonArray(response.getAsJsonArray("groups"));
+		return this.requests.getList("groups", "groups", Group.DECODER);
+	}
 
+	/**
+	 * Same as {@link #getAllGroups()}, but without blocking the calling thread.
+	 * @return Future completed with a list of groups
+	 */
+	public @NonNull CompletableFuture<List<Group>> getAllGroupsAsync() {
+		return this.requests.getListAsync("groups", "groups", Group.DECODER);
 	}
 
 	public int[] getAllGroupIds() throws NamelessException {
@@ -255,13 +496,6 @@ public final class NamelessAPI {
 				.toArray();
 	}
 
-	private @NonNull List<Group> groupListFromJsonArray(final @NonNull JsonArray array) {
-		return StreamSupport.stream(array.spliterator(), false)
-				.map(JsonElement::getAsJsonObject)
-				.map(Group::new)
-				.collect(Collectors.toList());
-	}
-
 	/**
 	 * Registers a new account. The user will be emailed to set a password.
 	 *
@@ -278,6 +512,27 @@ public final class NamelessAPI {
 												  final @NonNull IntegrationData@Nullable ... integrationData)
 			throws NamelessException {
 
+		final JsonObject response = this.requests.post("users/register", registerUserBody(username, email, integrationData));
+		invalidateUnknownUserCache(); // New user may have been looked up before
+		return registrationLink(response);
+	}
+
+	/**
+	 * Same as {@link #registerUser(String, String, IntegrationData...)}, but without blocking the calling thread.
+	 */
+	public @NonNull CompletableFuture<Optional<String>> registerUserAsync(final @NonNull String username,
+																		  final @NonNull String email,
+																		  final @NonNull IntegrationData@Nullable ... integrationData) {
+		return this.requests.postAsync("users/register", registerUserBody(username, email, integrationData))
+				.thenApply(response -> {
+					invalidateUnknownUserCache(); // New user may have been looked up before
+					return registrationLink(response);
+				});
+	}
+
+	private static @NonNull JsonObject registerUserBody(final @NonNull String username,
+														final @NonNull String email,
+														final @NonNull IntegrationData@Nullable [] integrationData) {
 		Objects.requireNonNull(username, "Username is null");
 		Objects.requireNonNull(email, "Email address is null");
 
@@ -294,9 +549,10 @@ public final class NamelessAPI {
 			}
 			post.add("integrations", integrationsJson);
 		}
+		return post;
+	}
 
-		final JsonObject response = this.requests.post("users/register", post);
-
+	private static @NonNull Optional<String> registrationLink(final @NonNull JsonObject response) {
 		if (response.has("link")) {
 			return Optional.of(response.get("link").getAsString());
 		} else {
@@ -306,12 +562,24 @@ public final class NamelessAPI {
 
 	public void verifyIntegration(final @NonNull IntegrationData integrationData,
 								   final @NonNull String verificationCode) throws NamelessException {
+		this.requests.post("integration/verify", verifyIntegrationBody(integrationData, verificationCode));
+		invalidateUnknownUserCache(); // User can now be found by integration
+	}
+
+	public @NonNull CompletableFuture<Void> verifyIntegrationAsync(final @NonNull IntegrationData integrationData,
+																   final @NonNull String verificationCode) {
+		return this.requests.postAsync("integration/verify", verifyIntegrationBody(integrationData, verificationCode))
+				.thenAccept(response -> invalidateUnknownUserCache()); // User can now be found by integration
+	}
+
+	private static @NonNull JsonObject verifyIntegrationBody(final @NonNull IntegrationData integrationData,
+															 final @NonNull String verificationCode) {
 		JsonObject data = new JsonObject();
 		data.addProperty("integration", integrationData.type());
 		data.addProperty("identifier", integrationData.identifier());
 		data.addProperty("username", integrationData.username());
 		data.addProperty("code", Objects.requireNonNull(verificationCode, "Verification code is null"));
-		this.requests.post("integration/verify", data);
+		return data;
 	}
 
 	/**
@@ -320,47 +588,102 @@ public final class NamelessAPI {
 	 * @see NamelessModule
 	 */
 	public void ensureModuleInstalled(NamelessModule module) throws NamelessException {
+		// Installed modules rarely change, so don't block on a website info request if cached info has the module
+		final Website cached = this.websiteIfCached();
+		if (cached != null && cached.modules().contains(module)) {
+			return;
+		}
 		if (!this.website().modules().contains(module)) {
 			throw new MissingModuleException(module);
 		}
 	}
 
+	/**
+	 * Same as {@link #ensureModuleInstalled(NamelessModule)}, but without blocking the calling thread.
+	 * @param module Module to check
+	 * @return Future completed exceptionally with {@link MissingModuleException} if the module is missing
+	 */
+	public @NonNull CompletableFuture<Void> ensureModuleInstalledAsync(final @NonNull NamelessModule module) {
+		final Website cached = this.websiteIfCached();
+		if (cached != null && cached.modules().contains(module)) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return this.websiteAsync().thenAccept(website -> {
+			if (!website.modules().contains(module)) {
+				throw FutureHelper.wrap(new MissingModuleException(module));
+			}
+		});
+	}
+
 	public DiscordAPI discord() throws NamelessException {
 		return new DiscordAPI(this);
 	}
 
+	public @NonNull CompletableFuture<DiscordAPI> discordAsync() {
+		return this.ensureModuleInstalledAsync(NamelessModule.DISCORD_INTEGRATION).thenApply(ignored -> {
+			try {
+				return new DiscordAPI(this);
+			} catch (final NamelessException e) {
+				throw FutureHelper.wrap(e);
+			}
+		});
+	}
+
 	public StoreAPI store() throws NamelessException {
 		return new StoreAPI(this);
 	}
 
+	public @NonNull CompletableFuture<StoreAPI> storeAsync() {
+		return this.ensureModuleInstalledAsync(NamelessModule.STORE).thenApply(ignored -> {
+			try {
+				return new StoreAPI(this);
+			} catch (final NamelessException e) {
+				throw FutureHelper.wrap(e);
+			}
+		});
+	}
+
 	public SuggestionsAPI suggestions() throws NamelessException {
 		return new SuggestionsAPI(this);
 	}
 
+	public @NonNull CompletableFuture<SuggestionsAPI> suggestionsAsync() {
+		return this.ensureModuleInstalledAsync(NamelessModule.SUGGESTIONS).thenApply(ignored -> {
+			try {
+				return new SuggestionsAPI(this);
+			} catch (final NamelessException e) {
+				throw FutureHelper.wrap(e);
+			}
+		});
+	}
+
 	public WebsendAPI websend() throws NamelessException {
 		return new WebsendAPI(this);
 	}
 
+	public @NonNull CompletableFuture<WebsendAPI> websendAsync() {
+		return this.ensureModuleInstalledAsync(NamelessModule.WEBSEND).thenApply(ignored -> {
+			try {
+				return new WebsendAPI(this);
+			} catch (final NamelessException e) {
+				throw FutureHelper.wrap(e);
+			}
+		});
+	}
+
 	/**
 	 * Adds back dashes to a UUID string and converts it to a Java UUID object
 	 * @param uuid UUID without dashes
 	 * @return UUID with dashes
+	 * @throws IllegalArgumentException If the string is not 32 hex characters
 	 */
 	public static @NonNull UUID websiteUuidToJavaUuid(final @NonNull String uuid) {
-		Objects.requireNonNull(uuid, "UUID string is null");
 		// Website sends UUIDs without dashes, so we can't use UUID#fromString
-		// https://stackoverflow.com/a/30760478
-		try {
-			final BigInteger a = new BigInteger(uuid.substring(0, 16), 16);
-			final BigInteger b = new BigInteger(uuid.substring(16, 32), 16);
-			return new UUID(a.longValue(), b.longValue());
-		} catch (final IndexOutOfBoundsException e) {
-			throw new IllegalArgumentException("Invalid uuid: '" + uuid + "'", e);
-		}
+		return UuidCodec.parse(uuid);
 	}
 
 	public static @NonNull String javaUuidToWebsiteUuid(final @NonNull UUID uuid) {
-		return uuid.toString().replace("-", "");
+		return UuidCodec.format(uuid);
 	}
 
 	public static @NonNull NamelessApiBuilder builder(final @NonNull URL apiUrl,
@@ -1,6 +1,10 @@
 package com.namelessmc.java_api;
 
+import com.github.mizosoft.methanol.HttpCache;
 import com.github.mizosoft.methanol.Methanol;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.GsonBuilder;
 import com.namelessmc.java_api.logger.ApiLogger;
 import com.namelessmc.java_api.logger.PrintStreamLogger;
@@ -9,13 +13,26 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.net.ssl.SSLParameters;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.net.Authenticator;
 import java.net.MalformedURLException;
 import java.net.ProxySelector;
 import java.net.URL;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class NamelessApiBuilder {
 
@@ -35,8 +52,29 @@ public class NamelessApiBuilder {
 	private @Nullable ProxySelector proxy = null;
 	private @Nullable Authenticator authenticator = null;
 	private HttpClient.@Nullable Version httpVersion = null;
+	private @Nullable Executor executor = null;
+	private Duration websiteInfoValidity = Duration.ofSeconds(60);
+	private Duration websiteInfoStaleValidity = Duration.ZERO;
+	private int userCacheSize = 0;
+	private Duration userCacheValidity = Duration.ZERO;
+	private int unknownUserCacheSize = 0;
+	private Duration unknownUserCacheValidity = Duration.ZERO;
 
 	private boolean pettyJsonRequests = false;
+	private boolean coalesceGetRequests = true;
+	private double rateLimit = 0;
+	private Duration rateLimitMaxWait = Duration.ZERO;
+	private int maxConcurrentRequests = 0;
+	private int maxQueuedRequests = 0;
+	private RetryPolicy retryPolicy = RetryPolicy.none();
+	private double circuitBreakerFailureRate = 0;
+	private int circuitBreakerWindowSize = 0;
+	private Duration circuitBreakerOpenDuration = Duration.ZERO;
+	private double hedgePercentile = 0;
+	private Duration hedgeMinDelay = Duration.ZERO;
+	private @Nullable HttpCache httpCache = null;
+	private int warmUpConnections = 0;
+	private @Nullable HttpClient sharedHttpClient = null;
 
 	NamelessApiBuilder(final @NonNull URL apiUrl,
 					   final @NonNull String apiKey) {
@@ -93,13 +131,348 @@ public class NamelessApiBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the HTTP version to use. By default, HTTP/2 is preferred and HTTP/1.1 is used if the web server
+	 * doesn't support it. For HTTPS this is negotiated during the TLS handshake. For plain HTTP, the first request
+	 * to a host is an HTTP/1.1 upgrade request; the Java HTTP client does not support HTTP/2 with prior knowledge.
+	 * @param httpVersion HTTP version, or null for the default
+	 */
 	public NamelessApiBuilder httpVersion(final HttpClient. @Nullable Version httpVersion) {
 		this.httpVersion = httpVersion;
 		return this;
 	}
 
+	/**
+	 * Configure how HTTP/1.1 connections are kept open for reuse, to avoid a new TCP and TLS handshake for
+	 * every request. HTTP/2 uses a single connection per host for all requests.
+	 *
+	 * <p>This is a JVM-wide setting, not a setting of one API instance. The Java HTTP client only reads it from
+	 * the {@code jdk.httpclient.connectionPoolSize} and {@code jdk.httpclient.keepalive.timeout} system
+	 * properties, once, when the first HTTP client in the JVM is created. This method sets those properties,
+	 * unless already set, so it must be called before any HTTP client is created and affects all HTTP clients in
+	 * the JVM, including those of other libraries. To limit the number of open connections of one API instance,
+	 * use {@link #maxConcurrentRequests(int, int)}.</p>
+	 * @param maxIdleConnections Maximum number of idle connections kept open, zero for unlimited (the default)
+	 * @param keepAlive How long idle connections are kept open (Java default 20 minutes, 30 seconds since Java 20)
+	 */
+	public static void configureJvmConnectionPool(final int maxIdleConnections, final @NonNull Duration keepAlive) {
+		Preconditions.checkArgument(maxIdleConnections >= 0, "Maximum idle connections must not be negative");
+		Preconditions.checkArgument(keepAlive.getSeconds() > 0, "Keep-alive must be at least one second");
+		setPropertyIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(maxIdleConnections));
+		setPropertyIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(keepAlive.getSeconds()));
+	}
+
+	/**
+	 * Send requests using an HTTP client shared with other API instances, instead of creating a new HTTP client
+	 * with its own connection pool and selector thread. Use this when connecting to many websites from one JVM.
+	 * API key, user agent, timeouts, limits and caches remain separate for each API instance. The connect
+	 * timeout, proxy, authenticator, HTTP version and executor for network I/O are settings of the shared
+	 * client, see {@link #sharedHttpClientBuilder()}. The HTTP cache is not supported with a shared client.
+	 * @param httpClient Shared HTTP client, or null to create a new HTTP client (the default)
+	 */
+	public NamelessApiBuilder httpClient(final @Nullable HttpClient httpClient) {
+		this.sharedHttpClient = httpClient;
+		return this;
+	}
+
+	/**
+	 * @return HTTP client builder with the same TLS settings and connect timeout as HTTP clients created by this
+	 * builder, to create a client to share between API instances using {@link #httpClient(HttpClient)}.
+	 */
+	public static HttpClient.@NonNull Builder sharedHttpClientBuilder() {
+		return HttpClient.newBuilder()
+				.sslParameters(SSL_PARAMETERS)
+				.connectTimeout(Duration.ofSeconds(10));
+	}
+
+	/**
+	 * Open connections to the website in the background when {@link #build()} is called, so the first
+	 * requests don't wait for a TCP and TLS handshake. See {@link RequestHandler#warmUp(int)}.
+	 * @param connections Number of connections to open, one is sufficient for HTTP/2. Zero to disable (the default).
+	 */
+	public NamelessApiBuilder warmUp(final int connections) {
+		Preconditions.checkArgument(connections >= 0, "Number of connections must not be negative");
+		this.warmUpConnections = connections;
+		return this;
+	}
+
+	/**
+	 * Configure caching of the website info response, used by {@link NamelessAPI#website()} and to check if modules are installed.
+	 * @param validity How long a response is used before requesting it again. Default 60 seconds.
+	 * @param staleValidity How long an expired response may still be used, while it is requested again in the
+	 *                      background. Default zero, callers wait for a new response once it has expired.
+	 */
+	public NamelessApiBuilder websiteInfoCache(final Duration validity, final Duration staleValidity) {
+		this.websiteInfoValidity = Objects.requireNonNull(validity);
+		this.websiteInfoStaleValidity = Objects.requireNonNull(staleValidity);
+		return this;
+	}
+
+	/**
+	 * Share user info between all user objects, for example so looking up a player by UUID multiple times only makes
+	 * one request. Users are found in the cache by id, username, and integration identifier or username. The cache
+	 * entry for a user is removed when a change is made using this API, like adding groups or changing the username.
+	 * Changes made in other ways only become visible after the entry expires.
+	 * @param maximumSize Maximum number of users to keep in the cache
+	 * @param validity How long user info may be used after it was requested
+	 */
+	public NamelessApiBuilder userCache(final int maximumSize, final Duration validity) {
+		Preconditions.checkArgument(maximumSize > 0, "Maximum size must be positive");
+		this.userCacheSize = maximumSize;
+		this.userCacheValidity = Objects.requireNonNull(validity);
+		return this;
+	}
+
+	/**
+	 * Remember users that don't exist, so looking up an unregistered player again doesn't make a request. Users
+	 * registered or integrations verified using this API clear the cache, other new users can only be found after
+	 * the entry expires, so a short validity is recommended.
+	 * @param maximumSize Maximum number of unknown users to remember
+	 * @param validity How long a user is considered to not exist after a lookup failed
+	 */
+	public NamelessApiBuilder unknownUserCache(final int maximumSize, final Duration validity) {
+		Preconditions.checkArgument(maximumSize > 0, "Maximum size must be positive");
+		this.unknownUserCacheSize = maximumSize;
+		this.unknownUserCacheValidity = Objects.requireNonNull(validity);
+		return this;
+	}
+
+	/**
+	 * When enabled (the default), identical GET requests made at the same time share a single HTTP request and
+	 * response. For example, many players joining at once and all requesting the group list with
+	 * {@link NamelessAPI#getAllGroups()} only results in one request. This applies to both raw JSON responses and
+	 * decoded lists like groups, users and store payments. The shared JSON response must not be modified.
+	 * @param coalesceGetRequests False to always make a new request
+	 */
+	public NamelessApiBuilder coalesceGetRequests(final boolean coalesceGetRequests) {
+		this.coalesceGetRequests = coalesceGetRequests;
+		return this;
+	}
+
+	/**
+	 * Limit the number of requests sent per second, to avoid overloading a website or triggering CloudFlare. Short
+	 * bursts of up to one second worth of requests are sent immediately.
+	 * @param requestsPerSecond Maximum average number of requests per second
+	 * @param maxWait Maximum time a request may wait for the rate limit, before failing with a
+	 * {@link com.namelessmc.java_api.exception.RateLimitedException}. Use {@link Duration#ZERO} to fail immediately.
+	 */
+	public NamelessApiBuilder rateLimit(final double requestsPerSecond, final Duration maxWait) {
+		Preconditions.checkArgument(requestsPerSecond > 0, "Requests per second must be positive");
+		this.rateLimit = requestsPerSecond;
+		this.rateLimitMaxWait = Objects.requireNonNull(maxWait);
+		return this;
+	}
+
+	/**
+	 * Limit the number of requests in progress at the same time. Additional requests wait in a queue, without
+	 * blocking a thread.
+	 * @param maxConcurrent Maximum number of requests in progress
+	 * @param maxQueued Maximum number of waiting requests, when the queue is full requests fail with a
+	 * {@link com.namelessmc.java_api.exception.RateLimitedException}. Use 0 to fail immediately.
+	 */
+	public NamelessApiBuilder maxConcurrentRequests(final int maxConcurrent, final int maxQueued) {
+		Preconditions.checkArgument(maxConcurrent > 0, "Maximum concurrent requests must be positive");
+		Preconditions.checkArgument(maxQueued >= 0, "Maximum queued requests must not be negative");
+		this.maxConcurrentRequests = maxConcurrent;
+		this.maxQueuedRequests = maxQueued;
+		return this;
+	}
+
+	/**
+	 * Retry failed requests, for example while the website is being updated. See {@link RetryPolicy}.
+	 * @param retryPolicy Retry policy, by default {@link RetryPolicy#none()}
+	 */
+	public NamelessApiBuilder retryPolicy(final RetryPolicy retryPolicy) {
+		this.retryPolicy = Objects.requireNonNull(retryPolicy);
+		return this;
+	}
+
+	/**
+	 * Fail requests immediately with a {@link com.namelessmc.java_api.exception.CircuitBreakerOpenException} while
+	 * the website appears to be down, instead of waiting for a timeout every time. See {@link CircuitBreaker}.
+	 * @param failureRateThreshold Fraction of failed requests (between 0 and 1) at which requests stop being sent
+	 * @param windowSize Number of recent requests to calculate the failure rate over
+	 * @param openDuration Time to wait before sending a probe request, to find out if the website is back up
+	 */
+	public NamelessApiBuilder circuitBreaker(final double failureRateThreshold,
+											 final int windowSize,
+											 final Duration openDuration) {
+		Preconditions.checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 1,
+				"Failure rate threshold must be larger than 0 and at most 1");
+		Preconditions.checkArgument(windowSize > 0, "Window size must be positive");
+		this.circuitBreakerFailureRate = failureRateThreshold;
+		this.circuitBreakerWindowSize = windowSize;
+		this.circuitBreakerOpenDuration = Objects.requireNonNull(openDuration);
+		return this;
+	}
+
+	/**
+	 * Send a GET request a second time if the first request is slower than most requests, and use whichever response
+	 * is received first. This reduces the impact of occasional slow website workers, at the cost of extra requests.
+	 * Hedged requests are only sent if allowed by the rate limit and concurrent request limit without waiting.
+	 * @param percentile Send a hedged request when the response headers take longer than this percentile of recent
+	 *                   requests, for example 0.95
+	 * @param minDelay Never send a hedged request sooner than this
+	 */
+	public NamelessApiBuilder hedgeGetRequests(final double percentile, final Duration minDelay) {
+		Preconditions.checkArgument(percentile > 0 && percentile < 1, "Percentile must be between 0 and 1");
+		this.hedgePercentile = percentile;
+		this.hedgeMinDelay = Objects.requireNonNull(minDelay);
+		return this;
+	}
+
+	/**
+	 * Cache responses in memory, following the HTTP caching headers sent by the website. Responses with an ETag or
+	 * Last-Modified header are revalidated with a conditional request, so an unchanged response only costs a 304
+	 * response without body. Responses without caching headers are not cached. Least recently used responses are
+	 * removed when the cache is full. Statistics are available from {@link RequestHandler#httpCache()}.
+	 * @param maxSize Maximum size of cached responses in bytes
+	 */
+	public NamelessApiBuilder httpCache(final long maxSize) {
+		return this.httpCache(HttpCache.newBuilder().cacheOnMemory(maxSize).build());
+	}
+
+	/**
+	 * Same as {@link #httpCache(long)}, but stores responses on disk so they are kept across restarts
+	 * @param directory Cache directory, created if it does not exist
+	 * @param maxSize Maximum size of cached responses in bytes
+	 */
+	public NamelessApiBuilder httpCache(final Path directory, final long maxSize) {
+		return this.httpCache(HttpCache.newBuilder().cacheOnDisk(directory, maxSize).build());
+	}
+
+	/**
+	 * Use a custom HTTP cache, see {@link #httpCache(long)}. The cache is not closed by the API, a disk cache should
+	 * be closed when it is no longer used.
+	 * @param httpCache Cache, or null to not cache responses
+	 */
+	public NamelessApiBuilder httpCache(final @Nullable HttpCache httpCache) {
+		this.httpCache = httpCache;
+		return this;
+	}
+
+	/**
+	 * Use a custom executor for the HTTP client and background work, like completing asynchronous requests.
+	 * @param executor Executor, or null to use the default executor of the Java HTTP client
+	 */
+	public NamelessApiBuilder executor(final @Nullable Executor executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Run the HTTP client and background work on virtual threads, so many concurrent requests can be made
+	 * without sizing thread pools. Virtual threads require Java 21 or newer. On older Java versions, a bounded
+	 * pool of 64 platform threads is used instead.
+	 */
+	public NamelessApiBuilder virtualThreads() {
+		return this.virtualThreads(64);
+	}
+
+	/**
+	 * Run the HTTP client and background work on virtual threads, so many concurrent requests can be made
+	 * without sizing thread pools. Virtual threads require Java 21 or newer.
+	 * @param fallbackPoolSize Number of platform threads to use instead on Java versions without virtual threads
+	 */
+	public NamelessApiBuilder virtualThreads(final int fallbackPoolSize) {
+		this.executor = newVirtualThreadExecutor(fallbackPoolSize);
+		return this;
+	}
+
+	static @NonNull ExecutorService newVirtualThreadExecutor(final int fallbackPoolSize) {
+		try {
+			// Java 21+, use reflection so the library still targets Java 11
+			final MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+					"newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+			return (ExecutorService) factory.invokeExact();
+		} catch (final NoSuchMethodException | IllegalAccessException ignored) {
+			// Fall back to platform threads below
+		} catch (final Throwable e) {
+			throw new IllegalStateException("Failed to create virtual thread executor", e);
+		}
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ThreadFactory threadFactory = runnable -> {
+			final Thread thread = new Thread(runnable, "Nameless-Java-API-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		final ThreadPoolExecutor pool = new ThreadPoolExecutor(fallbackPoolSize, fallbackPoolSize,
+				60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+
 	public NamelessAPI build() {
-		final Methanol.Builder methanolBuilder = Methanol.newBuilder()
+		final Methanol httpClient;
+		final HttpClient sharedHttpClient = this.sharedHttpClient;
+		if (sharedHttpClient != null) {
+			Preconditions.checkState(this.proxy == null && this.authenticator == null && this.httpVersion == null,
+					"Proxy, authenticator and HTTP version must be configured on the shared HTTP client");
+			Preconditions.checkState(this.httpCache == null, "HTTP cache can't be used with a shared HTTP client");
+			httpClient = this.configureClient(Methanol.newBuilder(sharedHttpClient)).build();
+		} else {
+			final Methanol.Builder methanolBuilder = this.configureClient(Methanol.newBuilder())
+					.connectTimeout(this.timeout);
+			if (this.proxy != null) {
+				methanolBuilder.proxy(this.proxy);
+			}
+			if (this.authenticator != null) {
+				methanolBuilder.authenticator(this.authenticator);
+			}
+			if (this.httpVersion != null) {
+				methanolBuilder.version(this.httpVersion);
+			}
+			if (this.executor != null) {
+				methanolBuilder.executor(this.executor);
+			}
+			if (this.httpCache != null) {
+				methanolBuilder.cache(this.httpCache);
+			}
+
+			methanolBuilder.sslParameters(SSL_PARAMETERS);
+			httpClient = methanolBuilder.build();
+		}
+
+		GsonBuilder gsonBuilder = new GsonBuilder()
+				.disableHtmlEscaping();
+
+		if (this.pettyJsonRequests) {
+			gsonBuilder.setPrettyPrinting();
+		}
+
+		final RequestHandler requests = new RequestHandler(
+				this.apiUrl,
+				httpClient,
+				gsonBuilder.create(),
+				this.debugLogger,
+				this.responseSizeLimit,
+				this.executor,
+				this.coalesceGetRequests,
+				this.requestLimiter(),
+				this.retryPolicy,
+				this.circuitBreakerWindowSize > 0
+						? new CircuitBreaker(this.circuitBreakerFailureRate, this.circuitBreakerWindowSize, this.circuitBreakerOpenDuration)
+						: null,
+				this.hedgePercentile > 0 ? new RequestHedging(this.hedgePercentile, this.hedgeMinDelay) : null
+		);
+
+		if (this.warmUpConnections > 0) {
+			requests.warmUp(this.warmUpConnections);
+		}
+
+		return new NamelessAPI(
+				requests,
+				this.apiUrl,
+				this.apiKey,
+				this.websiteInfoValidity,
+				this.websiteInfoStaleValidity,
+				this.userCacheSize > 0 ? new UserCache(this.userCacheSize, this.userCacheValidity) : null,
+				this.unknownUserCacheSize > 0 ? unknownUserCache() : null
+		);
+	}
+
+	private <B extends Methanol.BaseBuilder<B>> B configureClient(final @NonNull B builder) {
+		return builder
 				.defaultHeaders(
 						"Authorization", "Bearer " + this.apiKey,
 						"X-API-Key", this.apiKey
@@ -108,38 +481,33 @@ public class NamelessApiBuilder {
 				.autoAcceptEncoding(true)
 				.readTimeout(this.timeout)
 				.requestTimeout(this.timeout)
-				.connectTimeout(this.timeout)
 				.headersTimeout(this.timeout);
-		if (this.proxy != null) {
-			methanolBuilder.proxy(this.proxy);
-		}
-		if (this.authenticator != null) {
-			methanolBuilder.authenticator(this.authenticator);
-		}
-		if (this.httpVersion != null) {
-			methanolBuilder.version(this.httpVersion);
-		}
-
-		methanolBuilder.sslParameters(SSL_PARAMETERS);
-
-		GsonBuilder gsonBuilder = new GsonBuilder()
-				.disableHtmlEscaping();
+	}
 
-		if (this.pettyJsonRequests) {
-			gsonBuilder.setPrettyPrinting();
+	private static void setPropertyIfAbsent(final @NonNull String key, final @NonNull String value) {
+		if (System.getProperty(key) == null) {
+			System.setProperty(key, value);
 		}
+	}
 
-		return new NamelessAPI(
-				new RequestHandler(
-						this.apiUrl,
-						methanolBuilder.build(),
-						gsonBuilder.create(),
-						this.debugLogger,
-						this.responseSizeLimit
-				),
-				this.apiUrl,
-				this.apiKey
+	private @Nullable RequestLimiter requestLimiter() {
+		if (this.rateLimit <= 0 && this.maxConcurrentRequests <= 0) {
+			return null;
+		}
+		return new RequestLimiter(
+				this.rateLimit,
+				this.rateLimitMaxWait,
+				this.maxConcurrentRequests > 0 ? this.maxConcurrentRequests : Integer.MAX_VALUE,
+				this.maxQueuedRequests,
+				this.executor != null ? this.executor : ForkJoinPool.commonPool()
 		);
 	}
 
+	private Cache<String, Boolean> unknownUserCache() {
+		return CacheBuilder.newBuilder()
+				.maximumSize(this.unknownUserCacheSize)
+				.expireAfterWrite(this.unknownUserCacheValidity.toNanos(), TimeUnit.NANOSECONDS)
+				.build();
+	}
+
 }
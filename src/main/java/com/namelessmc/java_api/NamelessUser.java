@@ -8,9 +8,11 @@ import com.namelessmc.java_api.exception.ApiError;
 import com.namelessmc.java_api.exception.ApiException;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.integrations.*;
+import com.namelessmc.java_api.metrics.ApiCacheEvent;
 import com.namelessmc.java_api.modules.discord.DiscordUser;
 import com.namelessmc.java_api.modules.store.StoreUser;
 import com.namelessmc.java_api.modules.suggestions.SuggestionsUser;
+import com.namelessmc.java_api.util.FutureHelper;
 import com.namelessmc.java_api.util.GsonHelper;
 import org.checkerframework.checker.index.qual.Positive;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -19,6 +21,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public final class NamelessUser implements LanguageEntity {
 
@@ -59,8 +62,49 @@ public final class NamelessUser implements LanguageEntity {
 			return this._cachedUserInfo;
 		}
 
+		final JsonObject sharedUserInfo = this.sharedUserInfo();
+		if (sharedUserInfo != null) {
+			return cacheUserInfo(sharedUserInfo);
+		}
+
 		final JsonObject response = this.requests.get("users/" + this.userTransformer);
+		return shareUserInfo(cacheUserInfo(response));
+	}
+
+	@NonNull CompletableFuture<@NonNull JsonObject> userInfoAsync() {
+		final JsonObject cachedUserInfo = this._cachedUserInfo;
+		if (cachedUserInfo != null) {
+			return CompletableFuture.completedFuture(cachedUserInfo);
+		}
+
+		final JsonObject sharedUserInfo = this.sharedUserInfo();
+		if (sharedUserInfo != null) {
+			return CompletableFuture.completedFuture(cacheUserInfo(sharedUserInfo));
+		}
+
+		return this.requests.getAsync("users/" + this.userTransformer)
+				.thenApply(response -> shareUserInfo(cacheUserInfo(response)));
+	}
+
+	private @Nullable JsonObject sharedUserInfo() {
+		final UserCache userCache = this.api.userCache();
+		if (userCache == null) {
+			return null;
+		}
+		final JsonObject userInfo = userCache.get(this.userTransformer);
+		ApiCacheEvent.emit("user", userInfo != null);
+		return userInfo;
+	}
+
+	private @NonNull JsonObject shareUserInfo(final @NonNull JsonObject userInfo) {
+		final UserCache userCache = this.api.userCache();
+		if (userCache != null) {
+			userCache.put(userInfo);
+		}
+		return userInfo;
+	}
 
+	private @NonNull JsonObject cacheUserInfo(final @NonNull JsonObject response) {
 		if (!response.get("exists").getAsBoolean()) {
 			throw new IllegalStateException("User was returned by the API without an error code so it should exist");
 		}
@@ -88,9 +132,14 @@ public final class NamelessUser implements LanguageEntity {
 	 * Calling this method will invalidate the cache and require making a new
 	 * API request. It will not make a new API request immediately. Calling
 	 * this method multiple times while the cache is already cleared has no
-	 * effect.
+	 * effect. If the API has a shared user cache, the user is also removed
+	 * from the shared cache.
 	 */
 	public void invalidateCache() {
+		final UserCache userCache = this.api.userCache();
+		if (userCache != null) {
+			userCache.invalidate(this.userTransformer, this._cachedUserInfo);
+		}
 		this._cachedUserInfo = null;
 		this._cachedIntegrationData = null;
 	}
@@ -107,6 +156,17 @@ public final class NamelessUser implements LanguageEntity {
 		return this.id;
 	}
 
+	/**
+	 * Same as {@link #id()}, but without blocking the calling thread.
+	 * @return Future completed with the user's id
+	 */
+	public @NonNull CompletableFuture<Integer> idAsync() {
+		if (this.id != -1) {
+			return CompletableFuture.completedFuture(this.id);
+		}
+		return this.userInfoAsync().thenApply(userInfo -> userInfo.get("id").getAsInt());
+	}
+
 	public @NonNull String username() throws NamelessException {
 		return this.userInfo().get("username").getAsString();
 	}
@@ -115,6 +175,14 @@ public final class NamelessUser implements LanguageEntity {
 		JsonObject post = new JsonObject();
 		post.addProperty("username", username);
 		this.requests.post("users/" + this.userTransformer + "/update-username", post);
+		invalidateCache(); // Username modified, invalidate cache
+	}
+
+	public @NonNull CompletableFuture<Void> updateUsernameAsync(final @NonNull String username) {
+		JsonObject post = new JsonObject();
+		post.addProperty("username", username);
+		return this.requests.postAsync("users/" + this.userTransformer + "/update-username", post)
+				.thenAccept(response -> invalidateCache()); // Username modified, invalidate cache
 	}
 
 	public @NonNull String displayName() throws NamelessException {
@@ -177,10 +245,22 @@ public final class NamelessUser implements LanguageEntity {
 	 * @return List of the user's groups, sorted from low order to high order.
 	 */
 	public @NonNull List<@NonNull Group> groups() throws NamelessException {
-		if (!this.userInfo().has("groups")) {
+		return groups(this.userInfo());
+	}
+
+	/**
+	 * Same as {@link #groups()}, but without blocking the calling thread.
+	 * @return Future completed with a list of the user's groups, sorted from low order to high order.
+	 */
+	public @NonNull CompletableFuture<@NonNull List<@NonNull Group>> groupsAsync() {
+		return this.userInfoAsync().thenApply(NamelessUser::groups);
+	}
+
+	private static @NonNull List<@NonNull Group> groups(final @NonNull JsonObject userInfo) {
+		if (!userInfo.has("groups")) {
 			throw new IllegalStateException("Groups array missing: https://github.com/NamelessMC/Nameless/issues/3052");
 		}
-		return GsonHelper.toObjectList(this.userInfo().getAsJsonArray("groups"), Group::new);
+		return GsonHelper.toObjectList(userInfo.getAsJsonArray("groups"), Group::new);
 	}
 
 	/**
@@ -210,6 +290,13 @@ public final class NamelessUser implements LanguageEntity {
 		invalidateCache(); // Groups modified, invalidate cache
 	}
 
+	public @NonNull CompletableFuture<Void> addGroupsAsync(final @NonNull Group@NonNull ... groups) {
+		final JsonObject post = new JsonObject();
+		post.add("groups", groupsToJsonArray(groups));
+		return this.requests.postAsync("users/" + this.userTransformer + "/groups/add", post)
+				.thenAccept(response -> invalidateCache()); // Groups modified, invalidate cache
+	}
+
 	public void removeGroups(final @NonNull Group@NonNull... groups) throws NamelessException {
 		final JsonObject post = new JsonObject();
 		post.add("groups", groupsToJsonArray(groups));
@@ -217,6 +304,13 @@ public final class NamelessUser implements LanguageEntity {
 		invalidateCache(); // Groups modified, invalidate cache
 	}
 
+	public @NonNull CompletableFuture<Void> removeGroupsAsync(final @NonNull Group@NonNull... groups) {
+		final JsonObject post = new JsonObject();
+		post.add("groups", groupsToJsonArray(groups));
+		return this.requests.postAsync("users/" + this.userTransformer + "/groups/remove", post)
+				.thenAccept(response -> invalidateCache()); // Groups modified, invalidate cache
+	}
+
 	private JsonArray groupsToJsonArray(final @NonNull Group@NonNull [] groups) {
 		final JsonArray array = new JsonArray();
 		for (final Group group : groups) {
@@ -235,6 +329,11 @@ public final class NamelessUser implements LanguageEntity {
 		return GsonHelper.toObjectList(response.getAsJsonArray("notifications"), Notification::new);
 	}
 
+	public @NonNull CompletableFuture<List<Notification>> notificationsAsync() {
+		return this.requests.getAsync("users/" + this.userTransformer + "/notifications")
+				.thenApply(response -> GsonHelper.toObjectList(response.getAsJsonArray("notifications"), Notification::new));
+	}
+
 	/**
 	 * Creates a report for a website user
 	 * @param user User to report. Lazy loading possible, only the ID is used.
@@ -244,9 +343,7 @@ public final class NamelessUser implements LanguageEntity {
 	 */
 	public void createReport(final @NonNull NamelessUser user, final @NonNull String reason) throws NamelessException {
 		Objects.requireNonNull(user, "User to report is null");
-		Objects.requireNonNull(reason, "Report reason is null");
-		Preconditions.checkArgument(reason.length() < 255,
-				"Report reason too long, it's %s characters but must be less than 255", reason.length());
+		checkReportReason(reason);
 		final JsonObject post = new JsonObject();
 		post.addProperty("reporter", this.id());
 		post.addProperty("reported", user.id());
@@ -254,14 +351,29 @@ public final class NamelessUser implements LanguageEntity {
 		try {
 			this.requests.post("reports/create", post);
 		} catch (final ApiException e) {
-			if (e.apiError() == ApiError.CORE_REPORT_CONTENT_TOO_LONG) {
-				throw new IllegalStateException("Website said report reason is too long, but we have " +
-						"client-side validation for this so it should be impossible");
-			}
-			throw e;
+			throw reportException(e);
 		}
 	}
 
+	/**
+	 * Same as {@link #createReport(NamelessUser, String)}, but without blocking the calling thread.
+	 * @param user User to report. Lazy loading possible, only the ID is used.
+	 * @param reason Reason why this player has been reported
+	 * @return Future completed when the report has been created
+	 * @throws IllegalArgumentException Report reason is too long (>255 characters)
+	 */
+	public @NonNull CompletableFuture<Void> createReportAsync(final @NonNull NamelessUser user, final @NonNull String reason) {
+		Objects.requireNonNull(user, "User to report is null");
+		checkReportReason(reason);
+		return this.idAsync().thenCombine(user.idAsync(), (reporterId, reportedId) -> {
+			final JsonObject post = new JsonObject();
+			post.addProperty("reporter", reporterId);
+			post.addProperty("reported", reportedId);
+			post.addProperty("content", reason);
+			return post;
+		}).thenCompose(this::postReportAsync);
+	}
+
 	/**
 	 * Create a report for a user who may or may not have a website account
 	 * @param reportedUuid The Mojang UUID of the Minecraft player to report
@@ -274,23 +386,66 @@ public final class NamelessUser implements LanguageEntity {
 							 final @NonNull String reason) throws NamelessException {
 		Objects.requireNonNull(reportedUuid, "Reported uuid is null");
 		Objects.requireNonNull(reportedName, "Reported name is null");
+		checkReportReason(reason);
+		try {
+			this.requests.post("reports/create", reportBody(this.id(), reportedUuid, reportedName, reason));
+		} catch (final ApiException e) {
+			throw reportException(e);
+		}
+	}
+
+	/**
+	 * Same as {@link #createReport(UUID, String, String)}, but without blocking the calling thread.
+	 * @param reportedUuid The Mojang UUID of the Minecraft player to report
+	 * @param reportedName The Minecraft username of this player
+	 * @param reason Report reason
+	 * @return Future completed when the report has been created
+	 * @throws IllegalArgumentException Report reason is too long (>255 characters)
+	 */
+	public @NonNull CompletableFuture<Void> createReportAsync(final @NonNull UUID reportedUuid,
+															  final @NonNull String reportedName,
+															  final @NonNull String reason) {
+		Objects.requireNonNull(reportedUuid, "Reported uuid is null");
+		Objects.requireNonNull(reportedName, "Reported name is null");
+		checkReportReason(reason);
+		return this.idAsync()
+				.thenCompose(reporterId -> this.postReportAsync(reportBody(reporterId, reportedUuid, reportedName, reason)));
+	}
+
+	private static void checkReportReason(final @NonNull String reason) {
 		Objects.requireNonNull(reason, "Report reason is null");
 		Preconditions.checkArgument(reason.length() < 255,
 				"Report reason too long, it's %s characters but must be less than 255", reason.length());
+	}
+
+	private static @NonNull JsonObject reportBody(final int reporterId,
+												  final @NonNull UUID reportedUuid,
+												  final @NonNull String reportedName,
+												  final @NonNull String reason) {
 		final JsonObject post = new JsonObject();
-		post.addProperty("reporter", this.id());
+		post.addProperty("reporter", reporterId);
 		post.addProperty("reported_uid", reportedUuid.toString());
 		post.addProperty("reported_username", reportedName);
 		post.addProperty("content", reason);
-		try {
-			this.requests.post("reports/create", post);
-		} catch (final ApiException e) {
-			if (e.apiError() == ApiError.CORE_REPORT_CONTENT_TOO_LONG) {
-				throw new IllegalStateException("Website said report reason is too long, but we have " +
-						"client-side validation for this so it should be impossible");
+		return post;
+	}
+
+	private @NonNull CompletableFuture<Void> postReportAsync(final @NonNull JsonObject post) {
+		return this.requests.postAsync("reports/create", post).handle((response, throwable) -> {
+			if (throwable != null) {
+				final Throwable cause = FutureHelper.unwrap(throwable);
+				throw FutureHelper.wrap(cause instanceof ApiException ? reportException((ApiException) cause) : cause);
 			}
-			throw e;
+			return null;
+		});
+	}
+
+	private static @NonNull ApiException reportException(final @NonNull ApiException e) {
+		if (e.apiError() == ApiError.CORE_REPORT_CONTENT_TOO_LONG) {
+			throw new IllegalStateException("Website said report reason is too long, but we have " +
+					"client-side validation for this so it should be impossible");
 		}
+		return e;
 	}
 
 	/**
@@ -302,6 +457,15 @@ public final class NamelessUser implements LanguageEntity {
 		return NamelessAPI.announcements(response);
 	}
 
+	/**
+	 * Same as {@link #announcements()}, but without blocking the calling thread.
+	 * @return Future completed with a list of announcements visible to this user
+	 */
+	public @NonNull CompletableFuture<@NonNull List<@NonNull Announcement>> announcementsAsync() {
+		return this.requests.getAsync("users/" + this.userTransformer + "/announcements")
+				.thenApply(NamelessAPI::announcements);
+	}
+
 	/**
 	 * Ban this user
 	 * @since 2021-10-24 commit <code>cce8d262b0be3f70818c188725cd7e7fc4fdbb9a</code>
@@ -310,12 +474,33 @@ public final class NamelessUser implements LanguageEntity {
 		this.requests.post("users/" + this.userTransformer + "/ban", new JsonObject());
 	}
 
+	/**
+	 * Same as {@link #banUser()}, but without blocking the calling thread.
+	 * @return Future completed when the user has been banned
+	 */
+	public @NonNull CompletableFuture<Void> banUserAsync() {
+		return this.requests.postAsync("users/" + this.userTransformer + "/ban", new JsonObject())
+				.thenAccept(response -> {});
+	}
+
 	public Collection<CustomProfileFieldValue> profileFields() throws NamelessException {
-		if (!this.userInfo().has("profile_fields")) {
+		return profileFields(this.userInfo());
+	}
+
+	/**
+	 * Same as {@link #profileFields()}, but without blocking the calling thread.
+	 * @return Future completed with the user's profile field values
+	 */
+	public @NonNull CompletableFuture<Collection<CustomProfileFieldValue>> profileFieldsAsync() {
+		return this.userInfoAsync().thenApply(NamelessUser::profileFields);
+	}
+
+	private static Collection<CustomProfileFieldValue> profileFields(final @NonNull JsonObject userInfo) {
+		if (!userInfo.has("profile_fields")) {
 			return Collections.emptyList();
 		}
 
-		final JsonObject fieldsJson = this.userInfo().getAsJsonObject("profile_fields");
+		final JsonObject fieldsJson = userInfo.getAsJsonObject("profile_fields");
 		final List<CustomProfileFieldValue> fieldValues = new ArrayList<>(fieldsJson.size());
 		for (final Map.Entry<String, JsonElement> e : fieldsJson.entrySet()) {
 			int id = Integer.parseInt(e.getKey());
@@ -341,7 +526,29 @@ public final class NamelessUser implements LanguageEntity {
 			return this._cachedIntegrationData;
 		}
 
-		final JsonObject userInfo = this.userInfo();
+		final Map<String, DetailedIntegrationData> integrationDataMap = integrations(this.userInfo());
+		this._cachedIntegrationData = integrationDataMap;
+		return integrationDataMap;
+	}
+
+	/**
+	 * Same as {@link #integrations()}, but without blocking the calling thread.
+	 * @return Future completed with the user's integrations, by integration name
+	 */
+	public @NonNull CompletableFuture<Map<String, DetailedIntegrationData>> integrationsAsync() {
+		final Map<String, DetailedIntegrationData> cachedIntegrationData = this._cachedIntegrationData;
+		if (cachedIntegrationData != null) {
+			return CompletableFuture.completedFuture(cachedIntegrationData);
+		}
+
+		return this.userInfoAsync().thenApply(userInfo -> {
+			final Map<String, DetailedIntegrationData> integrationDataMap = integrations(userInfo);
+			this._cachedIntegrationData = integrationDataMap;
+			return integrationDataMap;
+		});
+	}
+
+	private static @NonNull Map<String, DetailedIntegrationData> integrations(final @NonNull JsonObject userInfo) {
 		final JsonArray integrationsJsonArray = userInfo.getAsJsonArray("integrations");
 		Map<String, DetailedIntegrationData> integrationDataMap = new HashMap<>(integrationsJsonArray.size());
 		for (JsonElement integrationElement : integrationsJsonArray) {
@@ -360,7 +567,6 @@ public final class NamelessUser implements LanguageEntity {
 			}
 			integrationDataMap.put(integrationName, integrationData);
 		}
-		this._cachedIntegrationData = integrationDataMap;
 		return integrationDataMap;
 	}
 
@@ -390,6 +596,18 @@ public final class NamelessUser implements LanguageEntity {
 		this.requests.post("users/" + this.userTransformer + "/verify", body);
 	}
 
+	/**
+	 * Same as {@link #verify(String)}, but without blocking the calling thread.
+	 * @param verificationCode Verification code
+	 * @return Future completed when the user has been verified
+	 */
+	public @NonNull CompletableFuture<Void> verifyAsync(final @NonNull String verificationCode) {
+		final JsonObject body = new JsonObject();
+		body.addProperty("code", verificationCode);
+		return this.requests.postAsync("users/" + this.userTransformer + "/verify", body)
+				.thenAccept(response -> {});
+	}
+
 	public DiscordUser discord() throws NamelessException {
 		return new DiscordUser(this);
 	}
@@ -1,65 +1,601 @@
 package com.namelessmc.java_api;
 
+import com.github.mizosoft.methanol.CacheAwareResponse;
+import com.github.mizosoft.methanol.HttpCache;
 import com.github.mizosoft.methanol.Methanol;
 import com.github.mizosoft.methanol.MutableRequest;
 import com.google.common.base.Ascii;
 import com.google.common.base.Preconditions;
 import com.google.common.io.ByteStreams;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import com.namelessmc.java_api.exception.ApiError;
 import com.namelessmc.java_api.exception.ApiException;
+import com.namelessmc.java_api.exception.CircuitBreakerOpenException;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.logger.ApiLogger;
+import com.namelessmc.java_api.metrics.ApiCacheEvent;
+import com.namelessmc.java_api.metrics.ApiMetrics;
+import com.namelessmc.java_api.metrics.RequestTimer;
+import com.namelessmc.java_api.util.FutureHelper;
+import com.namelessmc.java_api.util.JsonDecoder;
+import com.namelessmc.java_api.util.StringHelper;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class RequestHandler {
 
+	// Number of bytes of a streamed response kept for debug logging and error messages
+	private static final int RESPONSE_PREVIEW_LENGTH = 1500;
+	private static final String TRUNCATED = "[truncated]\n";
+
 	private final @NonNull URL apiUrl;
 	private final @NonNull Methanol httpClient;
 	private final @Nullable ApiLogger debugLogger;
 	private final @NonNull Gson gson;
 	private final int responseLengthLimit;
+	private final @Nullable Executor executor;
+	// Identical GET requests that are in progress, null if coalescing is disabled
+	private final @Nullable ConcurrentHashMap<String, CompletableFuture<JsonObject>> inFlightGetRequests;
+	private final @Nullable ConcurrentHashMap<ListRequestKey, CompletableFuture<List<?>>> inFlightListRequests;
+	private final @Nullable RequestLimiter limiter;
+	private final @NonNull RetryPolicy retryPolicy;
+	private final @Nullable CircuitBreaker circuitBreaker;
+	private final @Nullable RequestHedging hedging;
+	private final @NonNull ApiMetrics metrics = new ApiMetrics();
+	private final @NonNull ConnectionStats connectionStats = new ConnectionStats();
 
 	RequestHandler(final @NonNull URL apiUrl,
 				   final @NonNull Methanol httpClient,
 				   final @NonNull Gson gson,
 				   final @Nullable ApiLogger debugLogger,
-				   final int responseLengthLimit) {
+				   final int responseLengthLimit,
+				   final @Nullable Executor executor,
+				   final boolean coalesceGetRequests,
+				   final @Nullable RequestLimiter limiter,
+				   final @NonNull RetryPolicy retryPolicy,
+				   final @Nullable CircuitBreaker circuitBreaker,
+				   final @Nullable RequestHedging hedging) {
 		this.apiUrl = Objects.requireNonNull(apiUrl, "API URL is null");
 		this.httpClient = Objects.requireNonNull(httpClient, "http client is null");
 		this.gson = gson;
 		this.debugLogger = debugLogger;
 		this.responseLengthLimit = responseLengthLimit;
+		this.executor = executor;
+		this.inFlightGetRequests = coalesceGetRequests ? new ConcurrentHashMap<>() : null;
+		this.inFlightListRequests = coalesceGetRequests ? new ConcurrentHashMap<>() : null;
+		this.limiter = limiter;
+		this.retryPolicy = retryPolicy;
+		this.circuitBreaker = circuitBreaker;
+		this.hedging = hedging;
 	}
 
 	public Gson gson() {
 		return this.gson;
 	}
 
+	/**
+	 * @return Executor for background work, as configured using {@link NamelessApiBuilder#executor(Executor)}
+	 * or {@link NamelessApiBuilder#virtualThreads()}. If not configured, the common fork join pool.
+	 */
+	public @NonNull Executor executor() {
+		return this.executor != null ? this.executor : ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * @return Request limiter with statistics, or null if no rate limit or concurrent request limit is configured
+	 */
+	public @Nullable RequestLimiter limiter() {
+		return this.limiter;
+	}
+
+	/**
+	 * @return Circuit breaker, or null if not configured using {@link NamelessApiBuilder#circuitBreaker(double, int, Duration)}
+	 */
+	public @Nullable CircuitBreaker circuitBreaker() {
+		return this.circuitBreaker;
+	}
+
+	/**
+	 * @return Hedging statistics, or null if not configured using {@link NamelessApiBuilder#hedgeGetRequests(double, Duration)}
+	 */
+	public @Nullable RequestHedging hedging() {
+		return this.hedging;
+	}
+
+	/**
+	 * @return HTTP cache configured using {@link NamelessApiBuilder#httpCache(long)}, for example to get statistics
+	 * using {@link HttpCache#stats()}, or null if responses are not cached
+	 */
+	public @Nullable HttpCache httpCache() {
+		return this.httpClient.cache().orElse(null);
+	}
+
+	/**
+	 * @return Request metrics by route
+	 */
+	public @NonNull ApiMetrics metrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * @return Response counts by HTTP version, as an indication of connection reuse
+	 */
+	public @NonNull ConnectionStats connectionStats() {
+		return this.connectionStats;
+	}
+
+	/**
+	 * Open connections to the website ahead of time, so the first requests don't have to wait for a TCP and
+	 * TLS handshake. Sends concurrent requests to the info endpoint, which the HTTP client keeps open
+	 * afterwards. Over HTTP/2, one connection is shared by all requests so one warm-up request is enough.
+	 * @param connections Number of concurrent requests
+	 * @return Future that completes when all requests are done. Failures are logged, never thrown.
+	 */
+	public @NonNull CompletableFuture<Void> warmUp(final int connections) {
+		Preconditions.checkArgument(connections > 0, "Number of connections must be positive");
+		final MutableRequest request;
+		try {
+			request = buildRequest("info", null, false);
+		} catch (final NamelessException e) {
+			debug(() -> "Not warming up connections: " + e.getMessage());
+			return CompletableFuture.completedFuture(null);
+		}
+		final long start = System.nanoTime();
+		final CompletableFuture<?>[] futures = new CompletableFuture<?>[connections];
+		for (int i = 0; i < connections; i++) {
+			futures[i] = this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.handle((response, throwable) -> {
+						if (throwable != null) {
+							debug(() -> "Warm-up request failed: " + FutureHelper.unwrap(throwable));
+							return false;
+						}
+						this.connectionStats.record(response.version(), response.headers());
+						return true;
+					});
+		}
+		return CompletableFuture.allOf(futures)
+				.thenRun(() -> debug(() -> "Warmed up " + connections + " connection(s) in " +
+						(System.nanoTime() - start) / 1_000_000 + "ms"));
+	}
+
 	public  JsonObject post(final String route,
 							final JsonObject postData) throws NamelessException {
 		return makeConnection(route, postData);
 	}
 
+	/**
+	 * Same as {@link #post(String, JsonObject)}, but without blocking the calling thread.
+	 * @return Future completed with the response, or completed exceptionally with a {@link NamelessException}
+	 */
+	public CompletableFuture<JsonObject> postAsync(final String route,
+												   final JsonObject postData) {
+		return makeConnectionAsync(route, postData);
+	}
+
+	/**
+	 * Make a GET request. If an identical request is already in progress, its response is used instead of making
+	 * a new request, unless disabled using {@link NamelessApiBuilder#coalesceGetRequests(boolean)}. The returned
+	 * object may be shared with other callers, so it must not be modified.
+	 */
 	public JsonObject get(final String route,
 						  final @Nullable Object... parameters) throws NamelessException {
+		final String fullRoute = buildRoute(route, parameters);
+		final ConcurrentHashMap<String, CompletableFuture<JsonObject>> inFlight = this.inFlightGetRequests;
+		if (inFlight == null) {
+			return makeConnection(fullRoute, null);
+		}
+
+		final CompletableFuture<JsonObject> future = coalesce(inFlight, fullRoute);
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = FutureHelper.unwrap(e);
+			if (cause instanceof NamelessException) {
+				throw (NamelessException) cause;
+			}
+			throw new NamelessException("Unexpected exception while sending request", cause);
+		} catch (final InterruptedException e) {
+			future.cancel(true);
+			throw new NamelessException("In-progress request was aborted", e);
+		}
+	}
+
+	/**
+	 * Same as {@link #get(String, Object...)}, but without blocking the calling thread.
+	 * @return Future completed with the response, or completed exceptionally with a {@link NamelessException}
+	 */
+	public CompletableFuture<JsonObject> getAsync(final String route,
+												  final @Nullable Object... parameters) {
+		final String fullRoute = buildRoute(route, parameters);
+		final ConcurrentHashMap<String, CompletableFuture<JsonObject>> inFlight = this.inFlightGetRequests;
+		if (inFlight == null) {
+			return makeConnectionAsync(fullRoute, null);
+		}
+		return coalesce(inFlight, fullRoute);
+	}
+
+	/**
+	 * Join an identical GET request if one is in progress, otherwise start a new request.
+	 * @return Copy of the shared future, so one caller cancelling does not affect the others
+	 */
+	private @NonNull CompletableFuture<JsonObject> coalesce(final @NonNull ConcurrentHashMap<String, CompletableFuture<JsonObject>> inFlight,
+															final @NonNull String route) {
+		final CompletableFuture<JsonObject> future = new CompletableFuture<>();
+		final CompletableFuture<JsonObject> existing = inFlight.putIfAbsent(route, future);
+		ApiCacheEvent.emit("get-coalescing", existing != null);
+		if (existing != null) {
+			debug(() -> "Joining in-progress request to " + route);
+			return existing.copy();
+		}
+
+		makeConnectionAsync(route, null).whenComplete((response, throwable) -> {
+			// Remove before completing, so callers that see the result never join a completed request
+			inFlight.remove(route, future);
+			if (throwable != null) {
+				future.completeExceptionally(FutureHelper.unwrap(throwable));
+			} else {
+				future.complete(response);
+			}
+		});
+		return future.copy();
+	}
+
+	/**
+	 * Make a GET request and decode the elements of an array in the response one at a time, while the response
+	 * is being received. Unlike {@link #get(String, Object...)}, the response is never fully stored in memory as
+	 * a string or JSON tree, which matters for large responses like user or payment lists. Identical requests
+	 * made at the same time with the same decoder instance are coalesced like {@link #get(String, Object...)},
+	 * so the returned list and its elements may be shared with other callers.
+	 * @param route API route
+	 * @param arrayName Name of the array in the top level response object
+	 * @param decoder Decoder for one array element. Reuse a decoder instance only if the decoded elements are
+	 *                immutable, because requests using the same instance may share their elements.
+	 * @param parameters Request parameters, see {@link #get(String, Object...)}
+	 * @return Unmodifiable list of decoded elements
+	 */
+	public <T> @NonNull List<T> getList(final @NonNull String route,
+										final @NonNull String arrayName,
+										final @NonNull JsonDecoder<T> decoder,
+										final @Nullable Object... parameters) throws NamelessException {
+		final String fullRoute = buildRoute(route, parameters);
+		final ConcurrentHashMap<ListRequestKey, CompletableFuture<List<?>>> inFlight = this.inFlightListRequests;
+		if (inFlight == null) {
+			return requestList(fullRoute, arrayName, decoder);
+		}
+
+		final ListRequestKey key = new ListRequestKey(fullRoute, arrayName, decoder);
+		final CompletableFuture<List<?>> future = new CompletableFuture<>();
+		final CompletableFuture<List<?>> existing = inFlight.putIfAbsent(key, future);
+		ApiCacheEvent.emit("get-coalescing", existing != null);
+		if (existing != null) {
+			debug(() -> "Joining in-progress request to " + fullRoute);
+			return awaitList(existing);
+		}
+
+		try {
+			final List<T> list = requestList(fullRoute, arrayName, decoder);
+			// Remove before completing, so callers that see the result never join a completed request
+			inFlight.remove(key, future);
+			future.complete(list);
+			return list;
+		} catch (final NamelessException | RuntimeException e) {
+			inFlight.remove(key, future);
+			future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Same as {@link #getList(String, String, JsonDecoder, Object...)}, but without blocking the calling thread.
+	 * The response body is received into memory first, and then decoded without building a JSON tree.
+	 * @return Future completed with an unmodifiable list of decoded elements, or completed exceptionally with a
+	 * {@link NamelessException}
+	 */
+	public <T> @NonNull CompletableFuture<List<T>> getListAsync(final @NonNull String route,
+																final @NonNull String arrayName,
+																final @NonNull JsonDecoder<T> decoder,
+																final @Nullable Object... parameters) {
+		final String fullRoute = buildRoute(route, parameters);
+		final ConcurrentHashMap<ListRequestKey, CompletableFuture<List<?>>> inFlight = this.inFlightListRequests;
+		if (inFlight == null) {
+			return requestListAsync(fullRoute, arrayName, decoder);
+		}
+
+		final ListRequestKey key = new ListRequestKey(fullRoute, arrayName, decoder);
+		final CompletableFuture<List<?>> future = new CompletableFuture<>();
+		final CompletableFuture<List<?>> existing = inFlight.putIfAbsent(key, future);
+		ApiCacheEvent.emit("get-coalescing", existing != null);
+		if (existing != null) {
+			debug(() -> "Joining in-progress request to " + fullRoute);
+			return castList(existing.copy());
+		}
+
+		requestListAsync(fullRoute, arrayName, decoder).whenComplete((list, throwable) -> {
+			// Remove before completing, so callers that see the result never join a completed request
+			inFlight.remove(key, future);
+			if (throwable != null) {
+				future.completeExceptionally(FutureHelper.unwrap(throwable));
+			} else {
+				future.complete(list);
+			}
+		});
+		return castList(future.copy());
+	}
+
+	/**
+	 * Identifies identical list requests. Decoders are compared by identity: lambdas have the same class whatever
+	 * they capture, so only the same decoder instance is known to produce the same element type.
+	 */
+	private static final class ListRequestKey {
+
+		private final @NonNull String route;
+		private final @NonNull String arrayName;
+		private final @NonNull JsonDecoder<?> decoder;
+
+		private ListRequestKey(final @NonNull String route,
+							   final @NonNull String arrayName,
+							   final @NonNull JsonDecoder<?> decoder) {
+			this.route = route;
+			this.arrayName = arrayName;
+			this.decoder = decoder;
+		}
+
+		@Override
+		public boolean equals(final @Nullable Object other) {
+			if (!(other instanceof ListRequestKey)) {
+				return false;
+			}
+			final ListRequestKey key = (ListRequestKey) other;
+			return this.decoder == key.decoder && this.route.equals(key.route) && this.arrayName.equals(key.arrayName);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * this.route.hashCode() + this.arrayName.hashCode()) + System.identityHashCode(this.decoder);
+		}
+
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> @NonNull CompletableFuture<List<T>> castList(final @NonNull CompletableFuture<List<?>> future) {
+		return (CompletableFuture<List<T>>) (CompletableFuture<?>) future;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> @NonNull List<T> awaitList(final @NonNull CompletableFuture<List<?>> future) throws NamelessException {
+		try {
+			return (List<T>) future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = FutureHelper.unwrap(e);
+			if (cause instanceof NamelessException) {
+				throw (NamelessException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new NamelessException("Unexpected exception while sending request", cause);
+		} catch (final InterruptedException e) {
+			// Don't cancel the shared request, other callers may still be waiting for it
+			throw new NamelessException("In-progress request was aborted", e);
+		}
+	}
+
+	private <T> @NonNull List<T> requestList(final @NonNull String fullRoute,
+											 final @NonNull String arrayName,
+											 final @NonNull JsonDecoder<T> decoder) throws NamelessException {
+		final boolean sampled = sampleRequest();
+		final MutableRequest request = buildRequest(fullRoute, null, sampled);
+		final RequestTimer timer = this.metrics.start(fullRoute, "GET", 0);
+		try {
+			final List<T> list = getList(request, fullRoute, arrayName, decoder, timer, sampled);
+			timer.finish(null);
+			return list;
+		} catch (final NamelessException e) {
+			timer.finish(e);
+			throw e;
+		}
+	}
+
+	private <T> @NonNull CompletableFuture<List<T>> requestListAsync(final @NonNull String fullRoute,
+																	 final @NonNull String arrayName,
+																	 final @NonNull JsonDecoder<T> decoder) {
+		final boolean sampled = sampleRequest();
+		final MutableRequest request;
+		try {
+			request = buildRequest(fullRoute, null, sampled);
+		} catch (final NamelessException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		final RequestTimer timer = this.metrics.start(fullRoute, "GET", 0);
+		final long requestStartTime = System.currentTimeMillis();
+
+		final CompletableFuture<HttpResponse<byte[]>> sent =
+				send(request, fullRoute, timer, responseInfo -> new LimitedByteArraySubscriber(this.responseLengthLimit));
+		return FutureHelper.propagateCancellation(sent
+				.handle((httpResponse, throwable) -> {
+					try {
+						if (throwable != null) {
+							throw sendError(throwable, requestStartTime);
+						}
+						final byte[] body = httpResponse.body();
+						timer.bodyReceived(body.length);
+						return decodeListResponse(new ByteArrayInputStream(body), httpResponse.statusCode(),
+								arrayName, decoder, requestStartTime, sampled);
+					} catch (final IOException e) {
+						throw new CompletionException(networkError(e, requestStartTime));
+					} catch (final NamelessException e) {
+						throw new CompletionException(e);
+					}
+				})
+				.whenComplete((list, throwable) ->
+						timer.finish(throwable != null ? FutureHelper.unwrap(throwable) : null)), sent);
+	}
+
+	private <T> @NonNull List<T> getList(final @NonNull MutableRequest request,
+										 final @NonNull String route,
+										 final @NonNull String arrayName,
+										 final @NonNull JsonDecoder<T> decoder,
+										 final @NonNull RequestTimer timer,
+										 final boolean sampled) throws NamelessException {
+		final long requestStartTime = System.currentTimeMillis();
+
+		final CompletableFuture<HttpResponse<InputStream>> responseFuture = send(request, route, timer, HttpResponse.BodyHandlers.ofInputStream());
+
+		final HttpResponse<InputStream> httpResponse;
+		try {
+			httpResponse = responseFuture.get();
+		} catch (final ExecutionException e) {
+			throw sendError(e, requestStartTime);
+		} catch (InterruptedException e) {
+			responseFuture.cancel(true);
+			throw new NamelessException("In-progress request was aborted", e);
+		}
+
+		final int statusCode = httpResponse.statusCode();
+
+		final SizeLimitedInputStream limited = new SizeLimitedInputStream(httpResponse.body(), this.responseLengthLimit);
+		try (InputStream in = new BufferedInputStream(limited)) {
+			final List<T> list = decodeListResponse(in, statusCode, arrayName, decoder, requestStartTime, sampled);
+			timer.bodyReceived(limited.count);
+			return list;
+		} catch (final IOException e) {
+			throw networkError(e, requestStartTime);
+		}
+	}
+
+	/**
+	 * @param in Response body, must support {@link InputStream#mark(int)}
+	 */
+	private <T> @NonNull List<T> decodeListResponse(final @NonNull InputStream in,
+													final int statusCode,
+													final @NonNull String arrayName,
+													final @NonNull JsonDecoder<T> decoder,
+													final long requestStartTime,
+													final boolean sampled) throws IOException, NamelessException {
+		// Keep the start of the response, for useful error messages if it is not valid json
+		in.mark(RESPONSE_PREVIEW_LENGTH);
+		final String responsePreview = new String(in.readNBytes(RESPONSE_PREVIEW_LENGTH), StandardCharsets.UTF_8);
+		in.reset();
+
+		debug(sampled, () -> "Website response headers received after " + (System.currentTimeMillis() - requestStartTime) +
+				"ms, start of body:\n" + printableBody(responsePreview));
+
+		if (responsePreview.isEmpty()) {
+			throw emptyResponse(statusCode);
+		}
+
+		final JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		final List<T> list;
+		try {
+			list = decodeList(reader, arrayName, decoder);
+		} catch (final MalformedJsonException | JsonParseException | IllegalStateException e) {
+			throw invalidResponse(statusCode, responsePreview, requestStartTime, e);
+		}
+
+		debug(sampled, () -> "Decoded " + list.size() + " elements after " + (System.currentTimeMillis() - requestStartTime) + "ms");
+		return list;
+	}
+
+	private <T> @NonNull List<T> decodeList(final @NonNull JsonReader reader,
+											final @NonNull String arrayName,
+											final @NonNull JsonDecoder<T> decoder) throws IOException, NamelessException {
+		@Nullable List<T> list = null;
+		@Nullable String errorString = null;
+		@Nullable String meta = null;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String name = reader.nextName();
+			if (name.equals("error")) {
+				errorString = reader.peek() == JsonToken.BOOLEAN
+						? String.valueOf(reader.nextBoolean())
+						: reader.nextString();
+			} else if (name.equals("meta")) {
+				final JsonElement metaJson = JsonParser.parseReader(reader);
+				meta = metaJson.isJsonNull() ? null : metaJson.toString();
+			} else if (name.equals(arrayName) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+				list = new ArrayList<>();
+				reader.beginArray();
+				while (reader.hasNext()) {
+					list.add(decoder.decode(reader));
+				}
+				reader.endArray();
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if (errorString != null) {
+			throw apiError(errorString, meta);
+		}
+
+		if (list == null) {
+			throw new NamelessException("Website response does not contain '" + arrayName + "' array");
+		}
+
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Append URL encoded parameters to a route, like {@link #get(String, Object...)} does
+	 * @param route API route
+	 * @param parameters Alternating parameter names and values, a null value adds the parameter without value
+	 * @return Route with parameters
+	 */
+	public static String buildRoute(final String route,
+									final @Nullable Object... parameters) {
 		final StringBuilder urlBuilder = new StringBuilder(route);
 
 		if (parameters.length > 0) {
@@ -83,7 +619,7 @@ public class RequestHandler {
 			}
 		}
 
-		return makeConnection(urlBuilder.toString(), null);
+		return urlBuilder.toString();
 	}
 
 	private void debug(final @NonNull String message) {
@@ -98,8 +634,49 @@ public class RequestHandler {
 		}
 	}
 
-	private @NonNull JsonObject makeConnection(final @NonNull String route,
-											   final @Nullable JsonObject postBody) throws NamelessException {
+	/**
+	 * Log a message about a specific request, if the request was selected by {@link #sampleRequest()}
+	 */
+	private void debug(final boolean sampled, final @NonNull Supplier<String> messageSupplier) {
+		if (sampled) {
+			debug(messageSupplier);
+		}
+	}
+
+	/**
+	 * @return True if debug messages should be logged for a new request, see {@link ApiLogger#sampleRequest()}
+	 */
+	private boolean sampleRequest() {
+		return this.debugLogger != null && this.debugLogger.sampleRequest();
+	}
+
+	/**
+	 * @return Request or response body for logging, truncated before sanitizing so large bodies are not copied
+	 */
+	private @NonNull String printableBody(final @NonNull String body) {
+		return StringHelper.regularAsciiOnly(Ascii.truncate(body, maxBodyLength(), TRUNCATED));
+	}
+
+	/**
+	 * @return Request body for logging, only the bytes that are logged are decoded
+	 */
+	private @NonNull String printableBody(final @NonNull Utf8BodyWriter body) {
+		final int maxLength = maxBodyLength();
+		if (body.size() <= maxLength) {
+			return StringHelper.regularAsciiOnly(body.toString());
+		}
+		// A character is at least one byte, so no more bytes are needed than characters are logged
+		return StringHelper.regularAsciiOnly(body.toString(maxLength - TRUNCATED.length()) + TRUNCATED);
+	}
+
+	private int maxBodyLength() {
+		final int maxLength = this.debugLogger != null ? this.debugLogger.maxBodyLength() : Integer.MAX_VALUE;
+		return Math.max(maxLength, TRUNCATED.length());
+	}
+
+	private @NonNull MutableRequest buildRequest(final @NonNull String route,
+												 final @Nullable JsonObject postBody,
+												 final boolean sampled) throws NamelessException {
 		Preconditions.checkArgument(!route.startsWith("/"), "Route must not start with a slash");
 		final URI uri = URI.create(this.apiUrl + route);
 		if (uri.getHost() == null) {
@@ -109,76 +686,438 @@ public class RequestHandler {
 		}
 		final MutableRequest request = MutableRequest.create(uri);
 
-		debug(() -> "Making connection " + (postBody != null ? "POST" : "GET") + " to " + request.uri());
-
-		final long requestStartTime = System.currentTimeMillis();
+		debug(sampled, () -> "Making connection " + (postBody != null ? "POST" : "GET") + " to " + request.uri());
 
 		if (postBody != null) {
-			byte[] postBytes = gson.toJson(postBody).getBytes(StandardCharsets.UTF_8);
-			request.POST(HttpRequest.BodyPublishers.ofByteArray(postBytes));
+			final Utf8BodyWriter postBytes = new Utf8BodyWriter();
+			try (final JsonWriter writer = gson.newJsonWriter(postBytes)) {
+				gson.toJson(postBody, writer);
+			} catch (final IOException | JsonIOException e) {
+				throw new NamelessException("Failed to serialize request body", e);
+			}
+			request.POST(postBytes.bodyPublisher());
 			request.header("Content-Type", "application/json");
 
-			debug(() -> "POST request body:\n" + new String(postBytes, StandardCharsets.UTF_8));
+			debug(sampled, () -> "POST request body:\n" + printableBody(postBytes));
 		} else {
 			request.GET();
 		}
 
 		request.header("Accept", "application/json");
+		return request;
+	}
+
+	private @NonNull JsonObject makeConnection(final @NonNull String route,
+											   final @Nullable JsonObject postBody) throws NamelessException {
+		final boolean sampled = sampleRequest();
+		final MutableRequest request = buildRequest(route, postBody, sampled);
+		final RequestTimer timer = this.metrics.start(route, request.method(), bodyLength(request));
+		try {
+			final JsonObject response = makeConnection(request, route, timer, sampled);
+			timer.finish(null);
+			return response;
+		} catch (final NamelessException e) {
+			timer.finish(e);
+			throw e;
+		}
+	}
+
+	private @NonNull JsonObject makeConnection(final @NonNull MutableRequest request,
+											   final @NonNull String route,
+											   final @NonNull RequestTimer timer,
+											   final boolean sampled) throws NamelessException {
+		final long requestStartTime = System.currentTimeMillis();
+
+		final CompletableFuture<HttpResponse<InputStream>> responseFuture = send(request, route, timer, HttpResponse.BodyHandlers.ofInputStream());
 
 		int statusCode;
 		String responseBody;
 		try {
-			HttpResponse<InputStream> httpResponse;
+			final HttpResponse<InputStream> httpResponse = responseFuture.get();
+			statusCode = httpResponse.statusCode();
+			responseBody = getBodyAsString(httpResponse, timer);
+		} catch (final ExecutionException e) {
+			throw sendError(e, requestStartTime);
+		} catch (final IOException e) {
+			throw networkError(e, requestStartTime);
+		} catch (InterruptedException e) {
+			responseFuture.cancel(true);
+			throw new NamelessException("In-progress request was aborted", e);
+		}
+
+		return parseResponse(statusCode, responseBody, requestStartTime, sampled);
+	}
+
+	private @NonNull CompletableFuture<JsonObject> makeConnectionAsync(final @NonNull String route,
+																	   final @Nullable JsonObject postBody) {
+		final boolean sampled = sampleRequest();
+		final MutableRequest request;
+		try {
+			request = buildRequest(route, postBody, sampled);
+		} catch (final NamelessException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		final RequestTimer timer = this.metrics.start(route, request.method(), bodyLength(request));
+		final long requestStartTime = System.currentTimeMillis();
+
+		final CompletableFuture<HttpResponse<byte[]>> sent =
+				send(request, route, timer, responseInfo -> new LimitedByteArraySubscriber(this.responseLengthLimit));
+		return FutureHelper.propagateCancellation(sent
+				.handle((httpResponse, throwable) -> {
+					try {
+						if (throwable != null) {
+							throw sendError(throwable, requestStartTime);
+						}
+						timer.bodyReceived(httpResponse.body().length);
+						final String responseBody = new String(httpResponse.body(), StandardCharsets.UTF_8);
+						return parseResponse(httpResponse.statusCode(), responseBody, requestStartTime, sampled);
+					} catch (final NamelessException e) {
+						throw new CompletionException(e);
+					}
+				})
+				.whenComplete((response, throwable) ->
+						timer.finish(throwable != null ? FutureHelper.unwrap(throwable) : null)), sent);
+	}
+
+	private static long bodyLength(final @NonNull MutableRequest request) {
+		return request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+	}
+
+	/**
+	 * Send a request asynchronously, retrying according to the retry policy.
+	 */
+	private <T> @NonNull CompletableFuture<HttpResponse<T>> send(final @NonNull MutableRequest request,
+																 final @NonNull String route,
+																 final @NonNull RequestTimer timer,
+																 final HttpResponse.@NonNull BodyHandler<T> bodyHandler) {
+		final HttpResponse.BodyHandler<T> timedBodyHandler = responseInfo -> {
+			timer.headersReceived(responseInfo.statusCode());
+			this.connectionStats.record(responseInfo.version(), responseInfo.headers());
+			return bodyHandler.apply(responseInfo);
+		};
+		final CompletableFuture<HttpResponse<T>> future = send(request, route, timer, timedBodyHandler, 0);
+		if (this.httpClient.cache().isPresent()) {
+			future.thenAccept(response -> {
+				if (response instanceof CacheAwareResponse) {
+					final CacheAwareResponse.CacheStatus status = ((CacheAwareResponse<T>) response).cacheStatus();
+					if (status != CacheAwareResponse.CacheStatus.UNSATISFIABLE) {
+						ApiCacheEvent.emit("http", status == CacheAwareResponse.CacheStatus.HIT ||
+								status == CacheAwareResponse.CacheStatus.CONDITIONAL_HIT);
+					}
+				}
+			});
+		}
+		return future;
+	}
+
+	private <T> @NonNull CompletableFuture<HttpResponse<T>> send(final @NonNull MutableRequest request,
+																 final @NonNull String route,
+																 final @NonNull RequestTimer timer,
+																 final HttpResponse.@NonNull BodyHandler<T> bodyHandler,
+																 final int retry) {
+		if (retry >= this.retryPolicy.maxRetries()) {
+			return sendGuarded(request, timer, bodyHandler);
+		}
+
+		final boolean idempotent = this.retryPolicy.isIdempotent(request.method(), route);
+		// Don't read the body of a response that will be retried
+		final HttpResponse.BodyHandler<T> retryingBodyHandler = idempotent
+				? responseInfo -> RetryPolicy.isRetryableStatusCode(responseInfo.statusCode())
+						? new DiscardingBodySubscriber<>(bodyHandler.apply(responseInfo))
+						: bodyHandler.apply(responseInfo)
+				: bodyHandler;
+
+		final CompletableFuture<HttpResponse<T>> attempt = sendGuarded(request, timer, retryingBodyHandler);
+		// Stage in progress: this attempt, the wait before the next attempt, or the next attempt
+		final AtomicReference<Future<?>> current = new AtomicReference<>(attempt);
+		final AtomicBoolean cancelled = new AtomicBoolean();
+		final CompletableFuture<HttpResponse<T>> result = attempt
+				.handle((response, throwable) -> {
+					final @Nullable Throwable cause = throwable != null ? FutureHelper.unwrap(throwable) : null;
+					final String reason;
+					@Nullable Duration retryAfter = null;
+					if (cause == null) {
+						if (!idempotent || !RetryPolicy.isRetryableStatusCode(response.statusCode())) {
+							return CompletableFuture.completedFuture(response);
+						}
+						reason = "status code " + response.statusCode();
+						retryAfter = retryAfter(response);
+					} else if (RetryPolicy.isConnectFailure(cause) || idempotent && RetryPolicy.isTimeout(cause)) {
+						reason = cause.toString();
+					} else {
+						return CompletableFuture.<HttpResponse<T>>failedFuture(cause);
+					}
+
+					final long delay = this.retryPolicy.delayNanos(retry + 1, retryAfter);
+					debug(() -> "Retrying request to " + route + " after " + TimeUnit.NANOSECONDS.toMillis(delay) +
+							"ms, because of " + reason);
+					final Executor delayedExecutor = CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor());
+					return trackStage(current, cancelled, CompletableFuture.runAsync(() -> {}, delayedExecutor))
+							.thenCompose(ignored -> cancelled.get()
+									? CompletableFuture.<HttpResponse<T>>failedFuture(new CancellationException())
+									: trackStage(current, cancelled, send(request, route, timer, bodyHandler, retry + 1)));
+				})
+				.thenCompose(Function.identity());
+		result.whenComplete((ignored, throwable) -> {
+			if (result.isCancelled()) {
+				cancelled.set(true);
+				current.get().cancel(true);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Make a stage of a retried request the one to cancel when the request is cancelled, and cancel it right away
+	 * if the request was already cancelled
+	 */
+	private static <F extends Future<?>> @NonNull F trackStage(final @NonNull AtomicReference<Future<?>> current,
+															   final @NonNull AtomicBoolean cancelled,
+															   final @NonNull F stage) {
+		current.set(stage);
+		if (cancelled.get()) {
+			stage.cancel(true);
+		}
+		return stage;
+	}
+
+	private static @Nullable Duration retryAfter(final @NonNull HttpResponse<?> response) {
+		final Optional<String> header = response.headers().firstValue("Retry-After");
+		if (header.isPresent()) {
 			try {
-				httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-			} catch (final IOException e) {
-				// Receiving a GOAWAY means the connection should be retried. For some reason, the Java
-				// HTTP client doesn't. See also: https://stackoverflow.com/a/55092354
-				if (e.getMessage() != null && e.getMessage().contains("GOAWAY received")) {
-					// Manually retry, once
-					debug(() -> "Retrying after receiving GOAWAY");
-					httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-				} else {
-					throw e;
+				return Duration.ofSeconds(Long.parseLong(header.get().trim()));
+			} catch (final NumberFormatException e) {
+				// HTTP date format, not worth parsing
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Send a request asynchronously if the circuit breaker allows it, and record the outcome.
+	 */
+	private <T> @NonNull CompletableFuture<HttpResponse<T>> sendGuarded(final @NonNull MutableRequest request,
+																		final @NonNull RequestTimer timer,
+																		final HttpResponse.@NonNull BodyHandler<T> bodyHandler) {
+		final CircuitBreaker circuitBreaker = this.circuitBreaker;
+		if (circuitBreaker == null) {
+			return sendLimited(request, timer, bodyHandler);
+		}
+
+		final boolean probe;
+		try {
+			probe = circuitBreaker.acquire();
+		} catch (final CircuitBreakerOpenException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		final CompletableFuture<HttpResponse<T>> sent = sendLimited(request, timer, bodyHandler);
+		return FutureHelper.propagateCancellation(sent.whenComplete((response, throwable) -> {
+			if (throwable == null) {
+				circuitBreaker.onResult(probe, response.statusCode() < 500);
+			} else if (FutureHelper.unwrap(throwable) instanceof IOException) {
+				circuitBreaker.onResult(probe, false);
+			} else {
+				circuitBreaker.onIgnored(probe);
+			}
+		}), sent);
+	}
+
+	/**
+	 * Send a request asynchronously, after waiting for the request limiter if configured. For streamed bodies,
+	 * the limiter slot is released once response headers are received.
+	 */
+	private <T> @NonNull CompletableFuture<HttpResponse<T>> sendLimited(final @NonNull MutableRequest request,
+																		final @NonNull RequestTimer timer,
+																		final HttpResponse.@NonNull BodyHandler<T> bodyHandler) {
+		final RequestLimiter limiter = this.limiter;
+		if (limiter == null) {
+			timer.sent();
+			return sendHedged(request, bodyHandler);
+		}
+
+		// Cancelling a request that is waiting for the limiter gives up its place in the queue
+		final CompletableFuture<Void> slot = limiter.acquire();
+		return FutureHelper.propagateCancellation(slot.thenCompose(ignored -> {
+			timer.sent();
+			return sendHedged(request, bodyHandler)
+					.whenComplete((response, throwable) -> limiter.release());
+		}), slot);
+	}
+
+	/**
+	 * Send a request asynchronously. For GET requests with hedging enabled, the same request is sent again if
+	 * response headers are not received within the hedge delay, if the request limiter allows another request
+	 * right away. The first response is used, the other request is cancelled or its response body closed.
+	 */
+	private <T> @NonNull CompletableFuture<HttpResponse<T>> sendHedged(final @NonNull MutableRequest request,
+																	   final HttpResponse.@NonNull BodyHandler<T> bodyHandler) {
+		final RequestHedging hedging = this.hedging;
+		if (hedging == null || !request.method().equals("GET")) {
+			return sendRetryingGoaway(request, bodyHandler);
+		}
+
+		final long startTime = System.nanoTime();
+		final @Nullable Duration hedgeDelay = hedging.hedgeDelay();
+		// Latency is measured when headers are received, not when the body has been read
+		final AtomicBoolean headersReceived = new AtomicBoolean();
+		final HttpResponse.BodyHandler<T> primaryBodyHandler = responseInfo -> {
+			if (headersReceived.compareAndSet(false, true)) {
+				hedging.recordLatency(System.nanoTime() - startTime);
+			}
+			return bodyHandler.apply(responseInfo);
+		};
+		final CompletableFuture<HttpResponse<T>> primary = sendRetryingGoaway(request, primaryBodyHandler);
+		if (hedgeDelay == null) {
+			return primary;
+		}
+
+		final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+		// Number of requests in progress, the result only fails if all requests failed
+		final AtomicInteger inProgress = new AtomicInteger(1);
+		primary.whenComplete((response, throwable) ->
+				completeHedged(result, inProgress, response, throwable, false, hedging));
+
+		final Executor delayedExecutor = CompletableFuture.delayedExecutor(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS, executor());
+		delayedExecutor.execute(() -> {
+			if (headersReceived.get() || result.isDone()) {
+				return;
+			}
+			final RequestLimiter limiter = this.limiter;
+			if (limiter != null && !limiter.tryAcquire()) {
+				return;
+			}
+			// Only count the hedged request if the original request is still in progress, otherwise the result
+			// may already have failed
+			if (inProgress.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+				if (limiter != null) {
+					limiter.release();
 				}
+				return;
 			}
-			statusCode = httpResponse.statusCode();
-			responseBody = getBodyAsString(httpResponse);
-		} catch (final IOException e) {
-			final @Nullable String exceptionMessage = e.getMessage();
-			final StringBuilder message = new StringBuilder();
-			message.append("Network connection error (not a Nameless issue). ");
-			message.append(e.getClass().getSimpleName());
-			message.append(": ");
-			message.append(exceptionMessage);
-			if (exceptionMessage != null) {
-				if (exceptionMessage.contains("unable to find valid certification path to requested target")) {
-					message.append("\nHINT: Your HTTPS certificate is probably valid, but is it complete? Ensure your website uses a valid *full chain* SSL/TLS certificate.");
-				} else if (exceptionMessage.contains("No subject alternative DNS name matching")) {
-					message.append("\nHINT: Is your HTTPS certificate valid? Is it for the correct domain?");
-				} else if (exceptionMessage.contains("Connect timed out")) {
-					message.append("\nHINT: Is a webserver running at the provided domain? Are we blocked by a firewall? Is your webserver fast enough?");
-				} else if (exceptionMessage.contains("Connection refused")) {
-					message.append("\nHINT: Is the domain correct? Is your webserver running? Are we blocked by a firewall?");
-				} else if (exceptionMessage.contains("timed out")) {
-					message.append("\nHINT: The website responded too slow, no response after waiting for ");
-					message.append((System.currentTimeMillis() - requestStartTime) / 1000);
-					message.append(" seconds.");
+			hedging.onHedgedRequest();
+			debug(() -> "No response after " + hedgeDelay.toMillis() + "ms, sending hedged request to " + request.uri());
+			final CompletableFuture<HttpResponse<T>> hedge = this.httpClient.sendAsync(request, bodyHandler);
+			if (limiter != null) {
+				hedge.whenComplete((response, throwable) -> limiter.release());
+			}
+			hedge.whenComplete((response, throwable) ->
+					completeHedged(result, inProgress, response, throwable, true, hedging));
+			// Abort the hedged request if the original request wins (Java 16+)
+			result.whenComplete((response, throwable) -> hedge.cancel(true));
+		});
+
+		return result;
+	}
+
+	private static <T> void completeHedged(final @NonNull CompletableFuture<HttpResponse<T>> result,
+										   final @NonNull AtomicInteger inProgress,
+										   final @Nullable HttpResponse<T> response,
+										   final @Nullable Throwable throwable,
+										   final boolean hedge,
+										   final @NonNull RequestHedging hedging) {
+		final int remaining = inProgress.decrementAndGet();
+		if (response != null) {
+			if (result.complete(response)) {
+				if (hedge) {
+					hedging.onHedgeWin();
 				}
+			} else {
+				closeBody(response);
 			}
+		} else if (remaining == 0) {
+			result.completeExceptionally(throwable != null
+					? FutureHelper.unwrap(throwable)
+					: new IllegalStateException("Request completed without a response"));
+		}
+	}
 
-			throw new NamelessException(message.toString(), e);
-		} catch (InterruptedException e) {
-			throw new NamelessException("In-progress request was aborted", e);
+	/**
+	 * Close the body of an unused response, so the connection can be reused or closed
+	 */
+	private static void closeBody(final @NonNull HttpResponse<?> response) {
+		final Object body = response.body();
+		if (body instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) body).close();
+			} catch (final Exception ignored) {
+				// Response is not used
+			}
 		}
+	}
 
-		debug(() -> "Website response body, after " + (System.currentTimeMillis() - requestStartTime) + "ms:\n" + regularAsciiOnly(responseBody));
+	/**
+	 * Send a request asynchronously, retrying once if the server sends GOAWAY.
+	 */
+	private <T> @NonNull CompletableFuture<HttpResponse<T>> sendRetryingGoaway(final @NonNull MutableRequest request,
+																			   final HttpResponse.@NonNull BodyHandler<T> bodyHandler) {
+		return this.httpClient.sendAsync(request, bodyHandler)
+				.handle((response, throwable) -> {
+					if (throwable == null) {
+						return CompletableFuture.completedFuture(response);
+					}
+					final Throwable cause = FutureHelper.unwrap(throwable);
+					// Receiving a GOAWAY means the connection should be retried. For some reason, the Java
+					// HTTP client doesn't. See also: https://stackoverflow.com/a/55092354
+					if (cause instanceof IOException &&
+							cause.getMessage() != null &&
+							cause.getMessage().contains("GOAWAY received")) {
+						// Manually retry, once
+						debug(() -> "Retrying after receiving GOAWAY");
+						return this.httpClient.sendAsync(request, bodyHandler);
+					}
+					return CompletableFuture.<HttpResponse<T>>failedFuture(cause);
+				})
+				.thenCompose(Function.identity());
+	}
 
-		if (responseBody.length() == 0) {
-			if (statusCode >= 301 && statusCode <= 303) {
-				throw new NamelessException("Website returned a redirect. Please ensure your URL is correct, paying attention to whether it should use HTTP or HTTPS, or whether it should or should not contain 'www.'.");
+	private @NonNull NamelessException sendError(final @NonNull Throwable throwable, final long requestStartTime) {
+		final Throwable cause = FutureHelper.unwrap(throwable);
+		if (cause instanceof NamelessException) {
+			// For example a RateLimitedException from the request limiter
+			return (NamelessException) cause;
+		}
+		if (cause instanceof IOException) {
+			return networkError((IOException) cause, requestStartTime);
+		}
+		return new NamelessException("Unexpected exception while sending request", cause);
+	}
+
+	private @NonNull NamelessException networkError(final @NonNull IOException e, final long requestStartTime) {
+		final @Nullable String exceptionMessage = e.getMessage();
+		final StringBuilder message = new StringBuilder();
+		message.append("Network connection error (not a Nameless issue). ");
+		message.append(e.getClass().getSimpleName());
+		message.append(": ");
+		message.append(exceptionMessage);
+		if (exceptionMessage != null) {
+			if (exceptionMessage.contains("unable to find valid certification path to requested target")) {
+				message.append("\nHINT: Your HTTPS certificate is probably valid, but is it complete? Ensure your website uses a valid *full chain* SSL/TLS certificate.");
+			} else if (exceptionMessage.contains("No subject alternative DNS name matching")) {
+				message.append("\nHINT: Is your HTTPS certificate valid? Is it for the correct domain?");
+			} else if (exceptionMessage.contains("Connect timed out")) {
+				message.append("\nHINT: Is a webserver running at the provided domain? Are we blocked by a firewall? Is your webserver fast enough?");
+			} else if (exceptionMessage.contains("Connection refused")) {
+				message.append("\nHINT: Is the domain correct? Is your webserver running? Are we blocked by a firewall?");
+			} else if (exceptionMessage.contains("timed out")) {
+				message.append("\nHINT: The website responded too slow, no response after waiting for ");
+				message.append((System.currentTimeMillis() - requestStartTime) / 1000);
+				message.append(" seconds.");
 			}
-			throw new NamelessException("Website returned empty response with status code " + statusCode);
+		}
+
+		return new NamelessException(message.toString(), e);
+	}
+
+	private @NonNull JsonObject parseResponse(final int statusCode,
+											  final @NonNull String responseBody,
+											  final long requestStartTime,
+											  final boolean sampled) throws NamelessException {
+		debug(sampled, () -> "Website response body, after " + (System.currentTimeMillis() - requestStartTime) + "ms:\n" + printableBody(responseBody));
+
+		if (responseBody.length() == 0) {
+			throw emptyResponse(statusCode);
 		}
 
 		JsonObject json;
@@ -186,85 +1125,353 @@ public class RequestHandler {
 		try {
 			json = JsonParser.parseString(responseBody).getAsJsonObject();
 		} catch (final JsonSyntaxException | IllegalStateException e) {
-			StringBuilder message = new StringBuilder();
-			message.append("Website returned invalid response with code ");
-			message.append(statusCode);
-			message.append(".\n");
-			if (statusCode >= 301 && statusCode <= 303) {
-				message.append("HINT: The web server returned a redirect. If your URL uses http://, change to https://. If your website forces www., make sure to add www. to the url.\n");
-			} else if (statusCode == 520 || statusCode == 521) {
-				message.append("HINT: Status code 520/521 is sent by CloudFlare when the backend webserver is down or having issues. Check your webserver and CloudFlare configuration.\n");
-			} else if (responseBody.contains("/aes.js")) {
-				message.append("HINT: It looks like requests are being blocked by your web server or a proxy. ");
-				message.append("This is a common occurrence with free web hosting services; they usually don't allow API access.\n");
-			} else if (responseBody.contains("<title>Please Wait... | Cloudflare</title>") ||
-					responseBody.contains("#cf-bubbles") ||
-					responseBody.contains("_cf_ch1_opt")) {
-				message.append("HINT: CloudFlare is blocking our request. Please see https://docs.namelessmc.com/cloudflare-api\n");
-			} else if (responseBody.startsWith("\ufeff")) {
-				message.append("HINT: The website response contains invisible unicode characters. This seems to be caused by Partydragen's Store module, we have no idea why.\n");
-			}
-
-			message.append("Website response, after ");
-			message.append(System.currentTimeMillis() - requestStartTime);
-			message.append("ms:\n");
-			message.append("-----------------\n");
-			int totalLengthLimit = 1500; // fit in a Discord message
-			String printableResponse = regularAsciiOnly(responseBody);
-			message.append(Ascii.truncate(printableResponse, totalLengthLimit, "[truncated]\n"));
-			if (message.charAt(message.length() - 1) != '\n') {
-				message.append('\n');
-			}
-
-			throw new NamelessException(message.toString(), e);
+			throw invalidResponse(statusCode, responseBody, requestStartTime, e);
 		}
 
 		if (json.has("error")) {
 			final String errorString = json.get("error").getAsString();
-			if (errorString.equals("true")) {
-				throw new NamelessException("Error string is 'true', are you using an older NamelessMC version?");
-			}
-			final ApiError apiError = ApiError.fromString(errorString);
-			if (apiError == null) {
-				throw new NamelessException("Unknown API error: " + errorString);
-			}
-
 			final String meta;
 			if (json.has("meta") && !json.get("meta").isJsonNull()) {
 				meta = json.get("meta").toString();
 			} else {
 				meta = null;
 			}
-			throw new ApiException(apiError, meta);
+			throw apiError(errorString, meta);
 		}
 
 		return json;
 	}
 
-	private String getBodyAsString(HttpResponse<InputStream> response) throws IOException {
+	private static @NonNull NamelessException emptyResponse(final int statusCode) {
+		if (statusCode >= 301 && statusCode <= 303) {
+			return new NamelessException("Website returned a redirect. Please ensure your URL is correct, paying attention to whether it should use HTTP or HTTPS, or whether it should or should not contain 'www.'.");
+		}
+		return new NamelessException("Website returned empty response with status code " + statusCode);
+	}
+
+	private static @NonNull NamelessException invalidResponse(final int statusCode,
+															  final @NonNull String responseBody,
+															  final long requestStartTime,
+															  final @NonNull Exception e) {
+		StringBuilder message = new StringBuilder();
+		message.append("Website returned invalid response with code ");
+		message.append(statusCode);
+		message.append(".\n");
+		if (statusCode >= 301 && statusCode <= 303) {
+			message.append("HINT: The web server returned a redirect. If your URL uses http://, change to https://. If your website forces www., make sure to add www. to the url.\n");
+		} else if (statusCode == 520 || statusCode == 521) {
+			message.append("HINT: Status code 520/521 is sent by CloudFlare when the backend webserver is down or having issues. Check your webserver and CloudFlare configuration.\n");
+		} else if (responseBody.contains("/aes.js")) {
+			message.append("HINT: It looks like requests are being blocked by your web server or a proxy. ");
+			message.append("This is a common occurrence with free web hosting services; they usually don't allow API access.\n");
+		} else if (responseBody.contains("<title>Please Wait... | Cloudflare</title>") ||
+				responseBody.contains("#cf-bubbles") ||
+				responseBody.contains("_cf_ch1_opt")) {
+			message.append("HINT: CloudFlare is blocking our request. Please see https://docs.namelessmc.com/cloudflare-api\n");
+		} else if (responseBody.startsWith("\ufeff")) {
+			message.append("HINT: The website response contains invisible unicode characters. This seems to be caused by Partydragen's Store module, we have no idea why.\n");
+		}
+
+		message.append("Website response, after ");
+		message.append(System.currentTimeMillis() - requestStartTime);
+		message.append("ms:\n");
+		message.append("-----------------\n");
+		int totalLengthLimit = 1500; // fit in a Discord message
+		// Truncate first, to avoid copying the entire response
+		message.append(StringHelper.regularAsciiOnly(Ascii.truncate(responseBody, totalLengthLimit, "[truncated]\n")));
+		if (message.charAt(message.length() - 1) != '\n') {
+			message.append('\n');
+		}
+
+		return new NamelessException(message.toString(), e);
+	}
+
+	private static @NonNull NamelessException apiError(final @NonNull String errorString, final @Nullable String meta) {
+		if (errorString.equals("true")) {
+			return new NamelessException("Error string is 'true', are you using an older NamelessMC version?");
+		}
+		final ApiError apiError = ApiError.fromString(errorString);
+		if (apiError == null) {
+			return new NamelessException("Unknown API error: " + errorString);
+		}
+		return new ApiException(apiError, meta);
+	}
+
+	private String getBodyAsString(HttpResponse<InputStream> response, RequestTimer timer) throws IOException {
 		try (InputStream in = response.body();
 				InputStream limited = ByteStreams.limit(in, this.responseLengthLimit)) {
 			byte[] bytes = limited.readAllBytes();
 			if (bytes.length == this.responseLengthLimit) {
 				throw new IOException("Response larger than limit of " + this.responseLengthLimit + " bytes.");
 			}
+			timer.bodyReceived(bytes.length);
 			return new String(bytes, StandardCharsets.UTF_8);
 		}
 	}
 
-	private static @NonNull String regularAsciiOnly(@NonNull String message) {
-		char[] chars = message.toCharArray();
-		for (int i = 0; i < chars.length; i++) {
-			char c = chars[i];
-			// only allow standard symbols, letters, numbers
-			// look up an ascii table if you don't understand this if statement
-			if (c >= ' ' && c <= '~' || c == '\n') {
-				chars[i] = c;
+	/**
+	 * Writer that encodes characters as UTF-8 directly into a byte array, which is then published as request
+	 * body without copying. Unlike {@link java.io.OutputStreamWriter}, it doesn't allocate for every write,
+	 * and {@link JsonWriter} writes a few characters at a time.
+	 */
+	private static class Utf8BodyWriter extends Writer {
+
+		private byte[] buf = new byte[512];
+		private int count = 0;
+		private char highSurrogate = 0;
+
+		private void ensureCapacity(final long extra) {
+			final long required = this.count + extra;
+			if (required > this.buf.length) {
+				if (required > Integer.MAX_VALUE - 8) {
+					throw new OutOfMemoryError("Request body too large");
+				}
+				this.buf = Arrays.copyOf(this.buf, (int) Math.max(required, Math.min(this.buf.length * 2L, Integer.MAX_VALUE - 8)));
+			}
+		}
+
+		private void writeChar(final char c) {
+			if (this.highSurrogate != 0) {
+				final char high = this.highSurrogate;
+				this.highSurrogate = 0;
+				if (Character.isLowSurrogate(c)) {
+					final int codePoint = Character.toCodePoint(high, c);
+					this.buf[this.count++] = (byte) (0xF0 | (codePoint >> 18));
+					this.buf[this.count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+					this.buf[this.count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+					this.buf[this.count++] = (byte) (0x80 | (codePoint & 0x3F));
+					return;
+				}
+				// Unpaired surrogate, replaced like String#getBytes does
+				this.buf[this.count++] = '?';
+			}
+
+			if (c < 0x80) {
+				this.buf[this.count++] = (byte) c;
+			} else if (c < 0x800) {
+				this.buf[this.count++] = (byte) (0xC0 | (c >> 6));
+				this.buf[this.count++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c)) {
+				this.highSurrogate = c;
+			} else if (Character.isLowSurrogate(c)) {
+				this.buf[this.count++] = '?';
 			} else {
-				chars[i] = '.';
+				this.buf[this.count++] = (byte) (0xE0 | (c >> 12));
+				this.buf[this.count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				this.buf[this.count++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+
+		@Override
+		public void write(final int c) {
+			ensureCapacity(4);
+			writeChar((char) c);
+		}
+
+		@Override
+		public void write(final char @NonNull [] chars, final int offset, final int length) {
+			// At most 3 bytes per char, plus one for a surrogate pair started in the previous write
+			ensureCapacity(length * 3L + 1);
+			for (int i = offset; i < offset + length; i++) {
+				writeChar(chars[i]);
+			}
+		}
+
+		@Override
+		public void write(final @NonNull String string, final int offset, final int length) {
+			ensureCapacity(length * 3L + 1);
+			for (int i = offset; i < offset + length; i++) {
+				writeChar(string.charAt(i));
+			}
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+			if (this.highSurrogate != 0) {
+				ensureCapacity(1);
+				this.highSurrogate = 0;
+				this.buf[this.count++] = '?';
+			}
+		}
+
+		private HttpRequest.@NonNull BodyPublisher bodyPublisher() {
+			return HttpRequest.BodyPublishers.ofByteArray(this.buf, 0, this.count);
+		}
+
+		private int size() {
+			return this.count;
+		}
+
+		/**
+		 * @param maxBytes Maximum number of bytes to decode, a character cut off at the end is replaced
+		 * @return Start of the body
+		 */
+		private @NonNull String toString(final int maxBytes) {
+			return new String(this.buf, 0, Math.min(this.count, maxBytes), StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public String toString() {
+			return new String(this.buf, 0, this.count, StandardCharsets.UTF_8);
+		}
+
+	}
+
+	/**
+	 * Fails with an {@link IOException} when more bytes than the limit are read, instead of silently truncating.
+	 */
+	private static class SizeLimitedInputStream extends FilterInputStream {
+
+		private final int limit;
+		private long count = 0;
+
+		private SizeLimitedInputStream(final InputStream in, final int limit) {
+			super(in);
+			this.limit = limit;
+		}
+
+		private void count(final long read) throws IOException {
+			if (read > 0) {
+				this.count += read;
+				if (this.count >= this.limit) {
+					throw new IOException("Response larger than limit of " + this.limit + " bytes.");
+				}
+			}
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int b = super.read();
+			count(b == -1 ? 0 : 1);
+			return b;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final int read = super.read(b, off, len);
+			count(read);
+			return read;
+		}
+
+		@Override
+		public long skip(final long n) throws IOException {
+			final long skipped = super.skip(n);
+			count(skipped);
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+	}
+
+	/**
+	 * Collects the response body into a byte array, like {@link HttpResponse.BodySubscribers#ofByteArray()},
+	 * but fails with an {@link IOException} as soon as the response exceeds the size limit.
+	 */
+	private static class LimitedByteArraySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+		private final int limit;
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+		private Flow.@Nullable Subscription subscription;
+
+		private LimitedByteArraySubscriber(final int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public CompletionStage<byte[]> getBody() {
+			return this.result;
+		}
+
+		@Override
+		public void onSubscribe(final Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(final List<ByteBuffer> items) {
+			if (this.result.isDone()) {
+				return;
 			}
+			for (final ByteBuffer item : items) {
+				if (this.buffer.size() + item.remaining() >= this.limit) {
+					final Flow.Subscription subscription = this.subscription;
+					if (subscription != null) {
+						subscription.cancel();
+					}
+					this.result.completeExceptionally(new IOException("Response larger than limit of " + this.limit + " bytes."));
+					return;
+				}
+				final byte[] bytes = new byte[item.remaining()];
+				item.get(bytes);
+				this.buffer.write(bytes, 0, bytes.length);
+			}
+		}
+
+		@Override
+		public void onError(final Throwable throwable) {
+			this.result.completeExceptionally(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			this.result.complete(this.buffer.toByteArray());
+		}
+
+	}
+
+	/**
+	 * Discards the response body without reading it into memory, the wrapped subscriber receives an empty body.
+	 */
+	private static class DiscardingBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+		private final HttpResponse.BodySubscriber<T> downstream;
+
+		private DiscardingBodySubscriber(final HttpResponse.BodySubscriber<T> downstream) {
+			this.downstream = downstream;
+		}
+
+		@Override
+		public CompletionStage<T> getBody() {
+			return this.downstream.getBody();
 		}
-		return new String(chars);
+
+		@Override
+		public void onSubscribe(final Flow.Subscription subscription) {
+			this.downstream.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(final long n) {}
+
+				@Override
+				public void cancel() {
+					subscription.cancel();
+				}
+			});
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(final List<ByteBuffer> items) {}
+
+		@Override
+		public void onError(final Throwable throwable) {
+			this.downstream.onError(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			this.downstream.onComplete();
+		}
+
 	}
 
 }
@@ -0,0 +1,82 @@
+package com.namelessmc.java_api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how long GET requests take until response headers are received, to decide when to send a second
+ * (hedged) request. Configured using {@link NamelessApiBuilder#hedgeGetRequests(double, Duration)}.
+ */
+public final class RequestHedging {
+
+	private static final int SAMPLE_COUNT = 128;
+	// Don't hedge until the latency percentile is somewhat meaningful
+	private static final int MIN_SAMPLE_COUNT = 20;
+
+	private final double percentile;
+	private final long minDelayNanos;
+
+	private final long[] samples = new long[SAMPLE_COUNT];
+	private int samplePosition = 0;
+	private int sampleCount = 0;
+
+	private final AtomicLong hedgedRequests = new AtomicLong();
+	private final AtomicLong hedgeWins = new AtomicLong();
+
+	RequestHedging(final double percentile, final @NonNull Duration minDelay) {
+		this.percentile = percentile;
+		this.minDelayNanos = minDelay.toNanos();
+	}
+
+	synchronized void recordLatency(final long nanos) {
+		this.samples[this.samplePosition] = nanos;
+		this.samplePosition = (this.samplePosition + 1) % SAMPLE_COUNT;
+		if (this.sampleCount < SAMPLE_COUNT) {
+			this.sampleCount++;
+		}
+	}
+
+	/**
+	 * @return Time to wait for response headers before sending a hedged request, or null if not enough requests
+	 * have been made yet to know what a slow request is
+	 */
+	public @Nullable Duration hedgeDelay() {
+		final long[] sorted;
+		synchronized (this) {
+			if (this.sampleCount < MIN_SAMPLE_COUNT) {
+				return null;
+			}
+			sorted = Arrays.copyOf(this.samples, this.sampleCount);
+		}
+		Arrays.sort(sorted);
+		final int index = Math.min(sorted.length - 1, (int) Math.ceil(this.percentile * sorted.length) - 1);
+		return Duration.ofNanos(Math.max(this.minDelayNanos, sorted[Math.max(0, index)]));
+	}
+
+	void onHedgedRequest() {
+		this.hedgedRequests.incrementAndGet();
+	}
+
+	void onHedgeWin() {
+		this.hedgeWins.incrementAndGet();
+	}
+
+	/**
+	 * @return Number of hedged requests sent
+	 */
+	public long hedgedRequests() {
+		return this.hedgedRequests.get();
+	}
+
+	/**
+	 * @return Number of hedged requests that received a response before the original request
+	 */
+	public long hedgeWins() {
+		return this.hedgeWins.get();
+	}
+
+}
@@ -0,0 +1,224 @@
+package com.namelessmc.java_api;
+
+import com.namelessmc.java_api.exception.RateLimitedException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits requests to a website, configured using {@link NamelessApiBuilder#rateLimit(double, Duration)} and
+ * {@link NamelessApiBuilder#maxConcurrentRequests(int, int)}. Waiting never blocks a thread, requests are started
+ * from the executor once they are allowed. Statistics can be used to choose limits.
+ */
+public final class RequestLimiter {
+
+	// Rate limit, token bucket that holds up to one second of requests
+	private final double requestsPerNano;
+	private final double maxTokens;
+	private final long maxRateWaitNanos;
+	private double tokens;
+	private long lastRefillNanos;
+
+	// Concurrency limit
+	private final int maxConcurrent;
+	private final int maxQueued;
+	private int active = 0;
+	private final Queue<CompletableFuture<Void>> queue = new ArrayDeque<>();
+
+	private final @NonNull Executor executor;
+
+	private final AtomicLong startedRequests = new AtomicLong();
+	private final AtomicLong rejectedRequests = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	RequestLimiter(final double requestsPerSecond,
+				   final @NonNull Duration maxRateWait,
+				   final int maxConcurrent,
+				   final int maxQueued,
+				   final @NonNull Executor executor) {
+		this.requestsPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.maxTokens = Math.max(1, requestsPerSecond);
+		this.maxRateWaitNanos = maxRateWait.toNanos();
+		this.tokens = this.maxTokens;
+		this.lastRefillNanos = System.nanoTime();
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueued = maxQueued;
+		this.executor = executor;
+	}
+
+	/**
+	 * @return Future completed when the request may be sent, or completed exceptionally with a
+	 * {@link RateLimitedException} if it should not wait. The caller must call {@link #release()} after the
+	 * request is done, if the future completed successfully. If the future is cancelled, its slot is released.
+	 */
+	@NonNull CompletableFuture<Void> acquire() {
+		final long start = System.nanoTime();
+		final CompletableFuture<Void> slot;
+		synchronized (this) {
+			if (this.active < this.maxConcurrent) {
+				this.active++;
+				slot = CompletableFuture.completedFuture(null);
+			} else if (this.queue.size() < this.maxQueued) {
+				slot = new CompletableFuture<>();
+				this.queue.add(slot);
+			} else {
+				this.rejectedRequests.incrementAndGet();
+				return CompletableFuture.failedFuture(new RateLimitedException("Too many concurrent requests, " +
+						this.active + " requests in progress and " + this.queue.size() + " waiting"));
+			}
+		}
+
+		final CompletableFuture<Void> result = new CompletableFuture<>();
+		slot.thenCompose(ignored -> {
+			final long rateWaitNanos = reserveToken();
+			if (rateWaitNanos < 0) {
+				release();
+				this.rejectedRequests.incrementAndGet();
+				return CompletableFuture.failedFuture(new RateLimitedException("Rate limit of " +
+						this.requestsPerNano * TimeUnit.SECONDS.toNanos(1) + " requests per second reached"));
+			}
+			if (rateWaitNanos == 0) {
+				return CompletableFuture.completedFuture(null);
+			}
+			return CompletableFuture.runAsync(() -> {},
+					CompletableFuture.delayedExecutor(rateWaitNanos, TimeUnit.NANOSECONDS, this.executor));
+		}).whenComplete((ignored, throwable) -> {
+			if (throwable != null) {
+				// Slot was never held, cancelled while queued, or already released after the rate limit rejection
+				result.completeExceptionally(throwable);
+				return;
+			}
+			if (!result.complete(null)) {
+				// Cancelled after the slot was handed to this request, pass it on
+				release();
+				return;
+			}
+			final long waited = System.nanoTime() - start;
+			this.startedRequests.incrementAndGet();
+			this.totalWaitNanos.addAndGet(waited);
+			this.maxWaitNanos.accumulateAndGet(waited, Math::max);
+		});
+
+		result.whenComplete((ignored, throwable) -> {
+			if (result.isCancelled()) {
+				final boolean removed;
+				synchronized (this) {
+					removed = this.queue.remove(slot);
+				}
+				if (removed) {
+					// Never got a slot, so there is nothing to release
+					slot.cancel(false);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * @return Nanoseconds to wait before the request may be sent, or -1 if that would be longer than allowed
+	 */
+	private synchronized long reserveToken() {
+		if (this.requestsPerNano <= 0) {
+			return 0;
+		}
+		refillTokens();
+		if (this.tokens >= 1) {
+			this.tokens--;
+			return 0;
+		}
+		final long waitNanos = (long) Math.ceil((1 - this.tokens) / this.requestsPerNano);
+		if (waitNanos > this.maxRateWaitNanos) {
+			return -1;
+		}
+		// Borrow the token from the future, the next request will have to wait longer
+		this.tokens--;
+		return waitNanos;
+	}
+
+	private void refillTokens() {
+		final long now = System.nanoTime();
+		this.tokens = Math.min(this.maxTokens, this.tokens + (now - this.lastRefillNanos) * this.requestsPerNano);
+		this.lastRefillNanos = now;
+	}
+
+	/**
+	 * Acquire a slot without waiting, for optional requests like hedged requests. The caller must call
+	 * {@link #release()} after the request is done, if this method returned true.
+	 * @return True if the request may be sent immediately
+	 */
+	boolean tryAcquire() {
+		synchronized (this) {
+			if (this.active >= this.maxConcurrent) {
+				return false;
+			}
+			if (this.requestsPerNano > 0) {
+				refillTokens();
+				if (this.tokens < 1) {
+					return false;
+				}
+				this.tokens--;
+			}
+			this.active++;
+		}
+		this.startedRequests.incrementAndGet();
+		return true;
+	}
+
+	void release() {
+		@Nullable CompletableFuture<Void> next;
+		synchronized (this) {
+			next = this.queue.poll();
+			if (next == null) {
+				this.active--;
+				return;
+			}
+		}
+		// Pass the slot on to the next waiting request
+		next.complete(null);
+	}
+
+	/**
+	 * @return Number of requests waiting for another request to finish
+	 */
+	public synchronized int queueDepth() {
+		return this.queue.size();
+	}
+
+	/**
+	 * @return Number of requests currently allowed to be in progress
+	 */
+	public synchronized int activeRequests() {
+		return this.active;
+	}
+
+	/**
+	 * @return Number of requests that failed with a {@link RateLimitedException}
+	 */
+	public long rejectedRequests() {
+		return this.rejectedRequests.get();
+	}
+
+	/**
+	 * @return Average time requests waited before being sent, including requests that didn't wait
+	 */
+	public @NonNull Duration averageWaitTime() {
+		final long started = this.startedRequests.get();
+		return started == 0 ? Duration.ZERO : Duration.ofNanos(this.totalWaitNanos.get() / started);
+	}
+
+	/**
+	 * @return Longest time a request waited before being sent
+	 */
+	public @NonNull Duration maxWaitTime() {
+		return Duration.ofNanos(this.maxWaitNanos.get());
+	}
+
+}
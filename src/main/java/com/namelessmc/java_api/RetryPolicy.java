@@ -0,0 +1,164 @@
+package com.namelessmc.java_api;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Decides which failed requests are retried and how long to wait before retrying, configured using
+ * {@link NamelessApiBuilder#retryPolicy(RetryPolicy)}.
+ *
+ * <p>Requests are retried after connection failures, timeouts and responses with status code 502, 503, 520 or 521
+ * (sent by proxies like CloudFlare when the website is down, for example during an update). The delay doubles for
+ * every retry, with random jitter so many clients don't retry at the same time. A Retry-After header is respected
+ * if it is not longer than the maximum delay.</p>
+ *
+ * <p>By default, only GET requests are retried. A POST request may have been processed by the website even if no
+ * response was received, so retrying it could perform an action twice. POST requests are only retried for routes
+ * enabled using {@link Builder#retryPost(String...)}, or after a failure to connect, since in that case nothing
+ * was sent.</p>
+ */
+public final class RetryPolicy {
+
+	private static final RetryPolicy NONE = new RetryPolicy(0, Duration.ZERO, Duration.ZERO, route -> false);
+
+	private final int maxRetries;
+	private final long initialDelayNanos;
+	private final long maxDelayNanos;
+	private final @NonNull Predicate<String> retryPostRoute;
+
+	private RetryPolicy(final int maxRetries,
+						final @NonNull Duration initialDelay,
+						final @NonNull Duration maxDelay,
+						final @NonNull Predicate<String> retryPostRoute) {
+		this.maxRetries = maxRetries;
+		this.initialDelayNanos = initialDelay.toNanos();
+		this.maxDelayNanos = maxDelay.toNanos();
+		this.retryPostRoute = retryPostRoute;
+	}
+
+	/**
+	 * @return Policy that never retries requests. The default, apart from the immediate retry when an HTTP/2
+	 * connection is closed by the server (GOAWAY), which is always done.
+	 */
+	public static @NonNull RetryPolicy none() {
+		return NONE;
+	}
+
+	public static @NonNull Builder builder() {
+		return new Builder();
+	}
+
+	public int maxRetries() {
+		return this.maxRetries;
+	}
+
+	/**
+	 * @return True if the request may have been processed by the website, but it is safe to send it again
+	 */
+	boolean isIdempotent(final @NonNull String method, final @NonNull String route) {
+		return method.equals("GET") || this.retryPostRoute.test(route);
+	}
+
+	static boolean isRetryableStatusCode(final int statusCode) {
+		return statusCode == 502 || statusCode == 503 || statusCode == 520 || statusCode == 521;
+	}
+
+	/**
+	 * @return True if the request was certainly not received by the website
+	 */
+	static boolean isConnectFailure(final @NonNull Throwable throwable) {
+		return throwable instanceof ConnectException || throwable instanceof HttpConnectTimeoutException;
+	}
+
+	static boolean isTimeout(final @NonNull Throwable throwable) {
+		return throwable instanceof HttpTimeoutException;
+	}
+
+	/**
+	 * @param retry Retry number, starting at 1
+	 * @param retryAfter Delay requested by the server, if any
+	 * @return Nanoseconds to wait before retrying
+	 */
+	long delayNanos(final int retry, final @Nullable Duration retryAfter) {
+		if (retryAfter != null && retryAfter.toNanos() <= this.maxDelayNanos) {
+			return Math.max(0, retryAfter.toNanos());
+		}
+		// Cap before shifting, a large shift would overflow
+		final int shift = Math.min(retry - 1, Long.numberOfLeadingZeros(this.initialDelayNanos) - 1);
+		final long delay = Math.min(this.maxDelayNanos, this.initialDelayNanos << Math.max(0, shift));
+		// Wait at least half the delay, so retries stay spaced out
+		return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+	}
+
+	public static final class Builder {
+
+		private int maxRetries = 2;
+		private Duration initialDelay = Duration.ofMillis(500);
+		private Duration maxDelay = Duration.ofSeconds(10);
+		private final Set<String> retryPostRoutes = new HashSet<>();
+		private @Nullable Predicate<String> retryPostRoute = null;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param maxRetries Maximum number of times a request is retried, default 2
+		 */
+		public @NonNull Builder maxRetries(final int maxRetries) {
+			Preconditions.checkArgument(maxRetries >= 0, "Maximum retries must not be negative");
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		/**
+		 * @param initialDelay Delay before the first retry, doubled for every next retry. Default 500ms.
+		 * @param maxDelay Maximum delay between retries, default 10 seconds
+		 */
+		public @NonNull Builder backoff(final @NonNull Duration initialDelay, final @NonNull Duration maxDelay) {
+			Preconditions.checkArgument(!initialDelay.isNegative() && initialDelay.compareTo(maxDelay) <= 0,
+					"Initial delay must not be negative or larger than the maximum delay");
+			this.initialDelay = initialDelay;
+			this.maxDelay = maxDelay;
+			return this;
+		}
+
+		/**
+		 * Also retry POST requests to these routes, for example because the website ignores duplicate requests.
+		 * @param routes Routes, like {@code minecraft/server-info}
+		 */
+		public @NonNull Builder retryPost(final @NonNull String@NonNull... routes) {
+			this.retryPostRoutes.addAll(Arrays.asList(routes));
+			return this;
+		}
+
+		/**
+		 * Also retry POST requests to routes matching a predicate, for routes containing a user identifier.
+		 * @param routes Predicate that receives the route, like {@code users/id:5/groups/add}
+		 */
+		public @NonNull Builder retryPost(final @NonNull Predicate<String> routes) {
+			this.retryPostRoute = Objects.requireNonNull(routes);
+			return this;
+		}
+
+		public @NonNull RetryPolicy build() {
+			final Set<String> routes = Set.copyOf(this.retryPostRoutes);
+			final Predicate<String> predicate = this.retryPostRoute;
+			return new RetryPolicy(this.maxRetries, this.initialDelay, this.maxDelay,
+					predicate != null ? route -> routes.contains(route) || predicate.test(route) : routes::contains);
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.namelessmc.java_api;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User info responses shared by all {@link NamelessUser} objects of an API instance. User info is stored by user
+ * id, with an index so it can also be found by username, and by integration identifier or username (for
+ * example Minecraft UUID or Discord id).
+ */
+final class UserCache {
+
+	private final Cache<Integer, JsonObject> userInfoById;
+	// User transformer (without URL encoding) to user id
+	private final Cache<String, Integer> idByTransformer;
+
+	UserCache(final int maximumSize, final @NonNull Duration validity) {
+		this.userInfoById = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(validity.toNanos(), TimeUnit.NANOSECONDS)
+				.build();
+		// Each user has an entry for id, username and two entries for every integration
+		this.idByTransformer = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize * 8L)
+				.expireAfterWrite(validity.toNanos(), TimeUnit.NANOSECONDS)
+				.build();
+	}
+
+	@Nullable JsonObject get(final @NonNull String userTransformer) {
+		final Integer id = this.idByTransformer.getIfPresent(normalize(userTransformer));
+		return id != null ? this.userInfoById.getIfPresent(id) : null;
+	}
+
+	void put(final @NonNull JsonObject userInfo) {
+		final int id = userInfo.get("id").getAsInt();
+		this.userInfoById.put(id, userInfo);
+		for (final String transformer : transformers(userInfo)) {
+			this.idByTransformer.put(transformer, id);
+		}
+	}
+
+	/**
+	 * Remove a user from the cache, including all identifiers the user could be found by
+	 * @param userTransformer Any transformer for the user
+	 * @param userInfo User info, if known, used to find identifiers for a user that's no longer cached by id
+	 */
+	void invalidate(final @NonNull String userTransformer, final @Nullable JsonObject userInfo) {
+		final String transformer = normalize(userTransformer);
+		final Integer id = userInfo != null
+				? Integer.valueOf(userInfo.get("id").getAsInt())
+				: this.idByTransformer.getIfPresent(transformer);
+		this.idByTransformer.invalidate(transformer);
+		if (userInfo != null) {
+			this.idByTransformer.invalidateAll(transformers(userInfo));
+		}
+		if (id != null) {
+			final JsonObject cachedUserInfo = this.userInfoById.getIfPresent(id);
+			if (cachedUserInfo != null) {
+				this.idByTransformer.invalidateAll(transformers(cachedUserInfo));
+			}
+			this.userInfoById.invalidate(id);
+		}
+	}
+
+	void invalidateAll() {
+		this.userInfoById.invalidateAll();
+		this.idByTransformer.invalidateAll();
+	}
+
+	private static @NonNull List<String> transformers(final @NonNull JsonObject userInfo) {
+		final List<String> transformers = new ArrayList<>();
+		transformers.add("id:" + userInfo.get("id").getAsInt());
+		if (userInfo.has("username")) {
+			transformers.add("username:" + userInfo.get("username").getAsString());
+		}
+		if (userInfo.has("integrations")) {
+			for (final JsonElement element : userInfo.getAsJsonArray("integrations")) {
+				final JsonObject integration = element.getAsJsonObject();
+				final String name = integration.get("integration").getAsString();
+				transformers.add("integration_id:" + name + ":" + integration.get("identifier").getAsString());
+				transformers.add("integration_name:" + name + ":" + integration.get("username").getAsString());
+			}
+		}
+		return transformers;
+	}
+
+	private static @NonNull String normalize(final @NonNull String userTransformer) {
+		// NamelessUser URL encodes transformers, except for id transformers
+		return URLDecoder.decode(userTransformer, StandardCharsets.UTF_8);
+	}
+
+}
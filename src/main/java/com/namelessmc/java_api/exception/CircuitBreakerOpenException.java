@@ -0,0 +1,17 @@
+package com.namelessmc.java_api.exception;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Thrown instead of sending a request, because many recent requests failed and the website is probably down.
+ * See {@link com.namelessmc.java_api.NamelessApiBuilder#circuitBreaker(double, int, java.time.Duration)}.
+ */
+public class CircuitBreakerOpenException extends NamelessException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CircuitBreakerOpenException(final @NonNull String message) {
+		super(message);
+	}
+
+}
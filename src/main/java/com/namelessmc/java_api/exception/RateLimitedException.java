@@ -0,0 +1,17 @@
+package com.namelessmc.java_api.exception;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Thrown when a request is not sent, because the client side rate limit or concurrent request limit configured
+ * in {@link com.namelessmc.java_api.NamelessApiBuilder} is reached.
+ */
+public class RateLimitedException extends NamelessException {
+
+	private static final long serialVersionUID = 1L;
+
+	public RateLimitedException(final @NonNull String message) {
+		super(message);
+	}
+
+}
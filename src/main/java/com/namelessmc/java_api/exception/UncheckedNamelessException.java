@@ -0,0 +1,27 @@
+package com.namelessmc.java_api.exception;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Wraps a {@link NamelessException} where checked exceptions can't be thrown, like in an {@link java.util.Iterator}
+ * or {@link java.util.stream.Stream}. Similar to {@link java.io.UncheckedIOException}.
+ */
+public class UncheckedNamelessException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final @NonNull NamelessException cause;
+
+	public UncheckedNamelessException(final @NonNull NamelessException cause) {
+		super(Objects.requireNonNull(cause));
+		this.cause = cause;
+	}
+
+	@Override
+	public synchronized @NonNull NamelessException getCause() {
+		return this.cause;
+	}
+
+}
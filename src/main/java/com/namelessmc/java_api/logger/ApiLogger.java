@@ -4,4 +4,20 @@ public abstract class ApiLogger {
 
 	public abstract void log(String string);
 
+	/**
+	 * Called once for every request, to decide whether messages about that request (like the request URL and
+	 * response body) are logged. Messages about retries and other events are always logged.
+	 * @return True to log the request, by default always
+	 */
+	public boolean sampleRequest() {
+		return true;
+	}
+
+	/**
+	 * @return Maximum number of characters of a request or response body to log, by default unlimited
+	 */
+	public int maxBodyLength() {
+		return Integer.MAX_VALUE;
+	}
+
 }
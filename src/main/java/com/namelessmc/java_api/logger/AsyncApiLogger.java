@@ -0,0 +1,125 @@
+package com.namelessmc.java_api.logger;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Passes messages to another logger from a background thread, so logging never slows down requests. Messages are
+ * kept in a bounded queue; when it is full, new messages are dropped and counted instead of waiting. To reduce
+ * the amount of messages, only a fraction of requests can be logged, and bodies can be truncated.
+ *
+ * <pre>{@code
+ * AsyncApiLogger.start(Slf4jLogger.DEFAULT_INSTANCE, 1024, 0.1, 2000)
+ * }</pre>
+ */
+public class AsyncApiLogger extends ApiLogger implements AutoCloseable {
+
+	private final ApiLogger logger;
+	private final BlockingQueue<String> queue;
+	private final double sampleRate;
+	private final int maxBodyLength;
+	private final AtomicLong droppedMessages = new AtomicLong();
+	private long reportedDroppedMessages = 0;
+	private @MonotonicNonNull Thread thread;
+	private volatile boolean closed = false;
+
+	private AsyncApiLogger(final ApiLogger logger,
+						   final int capacity,
+						   final double sampleRate,
+						   final int maxBodyLength) {
+		Preconditions.checkArgument(capacity > 0, "Capacity must be positive");
+		Preconditions.checkArgument(sampleRate >= 0 && sampleRate <= 1, "Sample rate must be between 0 and 1");
+		this.logger = logger;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.sampleRate = sampleRate;
+		this.maxBodyLength = maxBodyLength;
+	}
+
+	/**
+	 * Create a logger and start its background thread
+	 * @param logger Logger to pass messages to, from the background thread
+	 * @param capacity Maximum number of messages waiting to be logged
+	 * @param sampleRate Fraction of requests to log, between 0 and 1
+	 * @param maxBodyLength Maximum number of characters of request and response bodies to log
+	 */
+	public static AsyncApiLogger start(final ApiLogger logger,
+									   final int capacity,
+									   final double sampleRate,
+									   final int maxBodyLength) {
+		final AsyncApiLogger asyncLogger = new AsyncApiLogger(logger, capacity, sampleRate, maxBodyLength);
+		// Started after construction, so the thread never sees a partially constructed logger
+		final Thread thread = new Thread(asyncLogger::run, "Nameless-Java-API-Logger");
+		thread.setDaemon(true);
+		asyncLogger.thread = thread;
+		thread.start();
+		return asyncLogger;
+	}
+
+	@Override
+	public void log(final String string) {
+		if (this.closed || !this.queue.offer(string)) {
+			this.droppedMessages.incrementAndGet();
+		}
+	}
+
+	@Override
+	public boolean sampleRequest() {
+		return this.sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+	}
+
+	@Override
+	public int maxBodyLength() {
+		return this.maxBodyLength;
+	}
+
+	/**
+	 * @return Number of messages not logged because the queue was full
+	 */
+	public long droppedMessages() {
+		return this.droppedMessages.get();
+	}
+
+	private void run() {
+		try {
+			while (!this.closed || !this.queue.isEmpty()) {
+				final String message = this.queue.take();
+				reportDroppedMessages();
+				this.logger.log(message);
+			}
+		} catch (final InterruptedException e) {
+			// Closed, log remaining messages
+			String message;
+			while ((message = this.queue.poll()) != null) {
+				this.logger.log(message);
+			}
+		}
+		reportDroppedMessages();
+	}
+
+	private void reportDroppedMessages() {
+		final long dropped = this.droppedMessages.get();
+		if (dropped > this.reportedDroppedMessages) {
+			this.logger.log("[" + (dropped - this.reportedDroppedMessages) + " debug messages dropped, queue was full]");
+			this.reportedDroppedMessages = dropped;
+		}
+	}
+
+	/**
+	 * Stop the background thread, after logging messages that are already queued
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		this.closed = true;
+		final Thread thread = this.thread;
+		if (thread != null) {
+			thread.interrupt();
+			thread.join();
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.namelessmc.java_api.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Flight recorder event for a lookup in one of the client side caches
+ */
+@Name("com.namelessmc.ApiCache")
+@Label("Nameless API Cache Lookup")
+@Category({"NamelessMC", "API"})
+@Description("Lookup in a client side cache, a hit means no request was made")
+@StackTrace(false)
+public final class ApiCacheEvent extends Event {
+
+	@Label("Cache")
+	@Nullable String cache;
+
+	@Label("Hit")
+	boolean hit;
+
+	/**
+	 * Commit an event if recording is enabled, otherwise does nothing
+	 * @param cache Cache name, like {@code website-info}
+	 * @param hit True if the cached value was used
+	 */
+	public static void emit(final @NonNull String cache, final boolean hit) {
+		final ApiCacheEvent event = new ApiCacheEvent();
+		if (event.shouldCommit()) {
+			event.cache = cache;
+			event.hit = hit;
+			event.commit();
+		}
+	}
+
+}
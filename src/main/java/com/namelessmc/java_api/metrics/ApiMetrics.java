@@ -0,0 +1,83 @@
+package com.namelessmc.java_api.metrics;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Request metrics of an API instance, by route template. Identifiers in routes are replaced by a placeholder, so
+ * for example {@code users/id:5/groups} and {@code users/username:Derkades/groups} are both counted as
+ * {@code users/{transformer}/groups}, and {@code suggestions/12} as {@code suggestions/{id}}.
+ */
+public final class ApiMetrics {
+
+	private final ConcurrentHashMap<String, RouteCollector> routes = new ConcurrentHashMap<>();
+	private final List<Consumer<RouteCollector>> newRouteListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Start measuring a request
+	 * @param route Route, with parameters
+	 * @param method HTTP method
+	 * @param bytesSent Size of the request body
+	 */
+	public @NonNull RequestTimer start(final @NonNull String route, final @NonNull String method, final long bytesSent) {
+		final String template = routeTemplate(route);
+		RouteCollector collector = this.routes.get(template);
+		if (collector == null) {
+			final RouteCollector newCollector = new RouteCollector(template);
+			collector = this.routes.putIfAbsent(template, newCollector);
+			if (collector == null) {
+				collector = newCollector;
+				this.newRouteListeners.forEach(listener -> listener.accept(newCollector));
+			}
+		}
+		return new RequestTimer(collector, route, method, bytesSent);
+	}
+
+	/**
+	 * @return Metrics for every route template that has been requested, sorted by route template
+	 */
+	public @NonNull Map<String, RouteMetrics> snapshot() {
+		final Map<String, RouteMetrics> snapshot = new TreeMap<>();
+		for (final RouteCollector collector : this.routes.values()) {
+			snapshot.put(collector.route, collector.snapshot());
+		}
+		return Collections.unmodifiableMap(snapshot);
+	}
+
+	/**
+	 * Call a listener for every existing route and every new route. The listener may be called twice for a route.
+	 */
+	void forEachRoute(final @NonNull Consumer<RouteCollector> listener) {
+		this.newRouteListeners.add(listener);
+		this.routes.values().forEach(listener);
+	}
+
+	static @NonNull String routeTemplate(final @NonNull String route) {
+		final int parametersStart = route.indexOf('&');
+		final String path = parametersStart == -1 ? route : route.substring(0, parametersStart);
+		final String[] segments = path.split("/");
+		final StringBuilder template = new StringBuilder(path.length());
+		for (int i = 0; i < segments.length; i++) {
+			if (i > 0) {
+				template.append('/');
+			}
+			final String segment = segments[i];
+			if (!segment.isEmpty() && segment.chars().allMatch(Character::isDigit)) {
+				template.append("{id}");
+			} else if (segment.contains(":") || segment.contains("%3A") || segment.contains("%3a")) {
+				template.append("{transformer}");
+			} else {
+				template.append(segment);
+			}
+		}
+		return template.toString();
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.namelessmc.java_api.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Flight recorder event for an HTTP exchange with the website, committed by {@link RequestTimer}
+ */
+@Name("com.namelessmc.ApiRequest")
+@Label("Nameless API Request")
+@Category({"NamelessMC", "API"})
+@Description("HTTP request to the NamelessMC website API, including waiting for rate limits and retries")
+class ApiRequestEvent extends Event {
+
+	private static final EventType TYPE = EventType.getEventType(ApiRequestEvent.class);
+
+	@Label("Route")
+	@Description("Route with parameters")
+	@Nullable String route;
+
+	@Label("Route Template")
+	@Nullable String routeTemplate;
+
+	@Label("Method")
+	@Nullable String method;
+
+	@Label("Status Code")
+	@Description("HTTP status code of the last response, 0 if no response was received")
+	int statusCode;
+
+	@Label("Bytes Sent")
+	@DataAmount
+	long bytesSent;
+
+	@Label("Bytes Received")
+	@DataAmount
+	long bytesReceived;
+
+	@Label("Retries")
+	int retries;
+
+	@Label("Error")
+	@Description("API error or exception type, if the request failed")
+	@Nullable String error;
+
+	/**
+	 * @return True if a recording is enabled for this event, checked before creating an event so no event is
+	 * allocated when flight recording is not used
+	 */
+	static boolean enabled() {
+		return TYPE.isEnabled();
+	}
+
+}
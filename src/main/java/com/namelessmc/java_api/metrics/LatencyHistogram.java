@@ -0,0 +1,63 @@
+package com.namelessmc.java_api.metrics;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of durations in microseconds, with logarithmic buckets of 8 linear sub-buckets each (like
+ * HdrHistogram with one significant digit), so percentiles are accurate to within 12.5%.
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	// Enough buckets for values up to 2^32 microseconds (more than an hour)
+	static final int BUCKETS = SUB_BUCKETS + (32 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sumMicros = new AtomicLong();
+	private final AtomicLong maxMicros = new AtomicLong();
+
+	void record(final long nanos) {
+		final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+		this.counts.incrementAndGet(bucketIndex(micros));
+		this.count.incrementAndGet();
+		this.sumMicros.addAndGet(micros);
+		this.maxMicros.accumulateAndGet(micros, Math::max);
+	}
+
+	static int bucketIndex(final long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return Math.min(BUCKETS - 1, SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket);
+	}
+
+	/**
+	 * @return Largest value that falls in the bucket
+	 */
+	static long bucketUpperBound(final int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		final int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+		final int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		final long lowerBound = (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+		return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+
+	@NonNull LatencySnapshot snapshot() {
+		final long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = this.counts.get(i);
+		}
+		return new LatencySnapshot(counts, this.count.get(), this.sumMicros.get(), this.maxMicros.get());
+	}
+
+}
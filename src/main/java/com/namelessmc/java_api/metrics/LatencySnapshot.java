@@ -0,0 +1,66 @@
+package com.namelessmc.java_api.metrics;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.time.Duration;
+
+/**
+ * Distribution of the duration of one phase of requests, see {@link RouteMetrics}.
+ */
+public final class LatencySnapshot {
+
+	private final long[] counts;
+	private final long count;
+	private final long sumMicros;
+	private final long maxMicros;
+
+	LatencySnapshot(final long[] counts, final long count, final long sumMicros, final long maxMicros) {
+		this.counts = counts;
+		this.count = count;
+		this.sumMicros = sumMicros;
+		this.maxMicros = maxMicros;
+	}
+
+	/**
+	 * @return Number of recorded durations
+	 */
+	public long count() {
+		return this.count;
+	}
+
+	public @NonNull Duration mean() {
+		return this.count == 0 ? Duration.ZERO : Duration.ofNanos(this.sumMicros * 1000 / this.count);
+	}
+
+	public @NonNull Duration max() {
+		return Duration.ofNanos(this.maxMicros * 1000);
+	}
+
+	/**
+	 * @param percentile Percentile between 0 and 1, for example 0.99
+	 * @return Duration that the given fraction of requests did not exceed, accurate to within 12.5%
+	 */
+	public @NonNull Duration percentile(final double percentile) {
+		Preconditions.checkArgument(percentile >= 0 && percentile <= 1, "Percentile must be between 0 and 1");
+		if (this.count == 0) {
+			return Duration.ZERO;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(percentile * this.count));
+		long seen = 0;
+		for (int i = 0; i < this.counts.length; i++) {
+			seen += this.counts[i];
+			if (seen >= rank) {
+				return Duration.ofNanos(Math.min(LatencyHistogram.bucketUpperBound(i), this.maxMicros) * 1000);
+			}
+		}
+		return max();
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + this.count + " mean=" + mean().toMillis() + "ms p50=" + percentile(0.5).toMillis() +
+				"ms p99=" + percentile(0.99).toMillis() + "ms max=" + max().toMillis() + "ms";
+	}
+
+}
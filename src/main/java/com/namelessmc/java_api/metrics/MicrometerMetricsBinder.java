@@ -0,0 +1,80 @@
+package com.namelessmc.java_api.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.function.Function;
+
+/**
+ * Registers API metrics with a Micrometer registry. Micrometer is not a dependency of this library, this class
+ * can only be used if Micrometer is available at runtime.
+ *
+ * <pre>{@code
+ * new MicrometerMetricsBinder(api.requests().metrics()).bindTo(registry);
+ * }</pre>
+ *
+ * <p>Meters are tagged with the route template and registered when a route is first requested. Latencies are
+ * exposed as gauges for the 50th, 95th and 99th percentile of each phase, calculated over all requests so far.</p>
+ */
+public class MicrometerMetricsBinder implements MeterBinder {
+
+	private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+	private final @NonNull ApiMetrics metrics;
+
+	public MicrometerMetricsBinder(final @NonNull ApiMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void bindTo(final @NonNull MeterRegistry registry) {
+		this.metrics.forEachRoute(route -> bindRoute(registry, route));
+	}
+
+	private static void bindRoute(final @NonNull MeterRegistry registry, final @NonNull RouteCollector route) {
+		FunctionCounter.builder("nameless.api.requests", route, r -> r.requests.sum())
+				.tag("route", route.route)
+				.register(registry);
+		FunctionCounter.builder("nameless.api.errors", route, RouteCollector::apiErrorCount)
+				.tag("route", route.route)
+				.tag("type", "api")
+				.register(registry);
+		FunctionCounter.builder("nameless.api.errors", route, r -> r.otherErrors.sum())
+				.tag("route", route.route)
+				.tag("type", "other")
+				.register(registry);
+		FunctionCounter.builder("nameless.api.bytes", route, r -> r.bytesSent.sum())
+				.tag("route", route.route)
+				.tag("direction", "sent")
+				.baseUnit("bytes")
+				.register(registry);
+		FunctionCounter.builder("nameless.api.bytes", route, r -> r.bytesReceived.sum())
+				.tag("route", route.route)
+				.tag("direction", "received")
+				.baseUnit("bytes")
+				.register(registry);
+		bindLatency(registry, route, "queue", r -> r.queueTime);
+		bindLatency(registry, route, "headers", r -> r.headersTime);
+		bindLatency(registry, route, "body", r -> r.bodyTime);
+		bindLatency(registry, route, "parse", r -> r.parseTime);
+	}
+
+	private static void bindLatency(final @NonNull MeterRegistry registry,
+									final @NonNull RouteCollector route,
+									final @NonNull String phase,
+									final @NonNull Function<RouteCollector, LatencyHistogram> histogram) {
+		for (final double percentile : PERCENTILES) {
+			Gauge.builder("nameless.api.latency", route,
+							r -> histogram.apply(r).snapshot().percentile(percentile).toNanos() / 1e9)
+					.tag("route", route.route)
+					.tag("phase", phase)
+					.tag("percentile", String.valueOf(percentile))
+					.baseUnit("seconds")
+					.register(registry);
+		}
+	}
+
+}
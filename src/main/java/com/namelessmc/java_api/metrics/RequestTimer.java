@@ -0,0 +1,123 @@
+package com.namelessmc.java_api.metrics;
+
+import com.namelessmc.java_api.exception.ApiException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Measures the phases of a single request, see {@link RouteMetrics}. Used by
+ * {@link com.namelessmc.java_api.RequestHandler}, methods are called from the threads the request moves through.
+ */
+public final class RequestTimer {
+
+	private final @NonNull RouteCollector collector;
+	private final @NonNull String route;
+	private final @NonNull String method;
+	private final long bytesSent;
+	private final long startNanos;
+	// Only created while a flight recording is enabled, fields are only set if it will be committed
+	private final @Nullable ApiRequestEvent event;
+	private volatile int attempts;
+	private volatile int statusCode;
+	private volatile long sentNanos;
+	private volatile long headersNanos;
+	private volatile long bodyNanos;
+	private volatile long bytesReceived;
+
+	RequestTimer(final @NonNull RouteCollector collector,
+				 final @NonNull String route,
+				 final @NonNull String method,
+				 final long bytesSent) {
+		this.collector = collector;
+		this.route = route;
+		this.method = method;
+		this.bytesSent = bytesSent;
+		this.collector.bytesSent.add(bytesSent);
+		this.startNanos = System.nanoTime();
+		if (ApiRequestEvent.enabled()) {
+			this.event = new ApiRequestEvent();
+			this.event.begin();
+		} else {
+			this.event = null;
+		}
+	}
+
+	/**
+	 * Called when the request is passed to the HTTP client. If called again for a retry, the previous attempt is
+	 * counted as waiting time.
+	 */
+	public void sent() {
+		this.attempts++;
+		this.sentNanos = System.nanoTime();
+		this.headersNanos = 0;
+	}
+
+	/**
+	 * Called when response headers are received. If called multiple times for a hedged request, the first call is
+	 * used.
+	 */
+	public void headersReceived(final int statusCode) {
+		this.statusCode = statusCode;
+		if (this.headersNanos == 0) {
+			this.headersNanos = System.nanoTime();
+		}
+	}
+
+	public void bodyReceived(final long bytes) {
+		this.bodyNanos = System.nanoTime();
+		this.bytesReceived = bytes;
+	}
+
+	/**
+	 * Record the request, must be called once when the request is done
+	 * @param failure Exception the request failed with, or null if successful
+	 */
+	public void finish(final @Nullable Throwable failure) {
+		final long now = System.nanoTime();
+		final RouteCollector collector = this.collector;
+		collector.requests.increment();
+		collector.bytesReceived.add(this.bytesReceived);
+
+		final long sent = this.sentNanos;
+		final long headers = this.headersNanos;
+		final long body = this.bodyNanos;
+		if (sent != 0) {
+			collector.queueTime.record(sent - this.startNanos);
+			if (headers != 0) {
+				collector.headersTime.record(headers - sent);
+				if (body != 0) {
+					collector.bodyTime.record(body - headers);
+					collector.parseTime.record(now - body);
+				}
+			}
+		}
+
+		if (failure instanceof ApiException) {
+			collector.apiError(((ApiException) failure).apiError());
+		} else if (failure != null) {
+			collector.otherErrors.increment();
+		}
+
+		final ApiRequestEvent event = this.event;
+		if (event == null) {
+			return;
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.route = this.route;
+			event.routeTemplate = collector.route;
+			event.method = this.method;
+			event.statusCode = this.statusCode;
+			event.bytesSent = this.bytesSent;
+			event.bytesReceived = this.bytesReceived;
+			event.retries = Math.max(0, this.attempts - 1);
+			if (failure instanceof ApiException) {
+				event.error = ((ApiException) failure).apiError().toString();
+			} else if (failure != null) {
+				event.error = failure.getClass().getSimpleName();
+			}
+			event.commit();
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.namelessmc.java_api.metrics;
+
+import com.namelessmc.java_api.exception.ApiError;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live metrics for one route template
+ */
+final class RouteCollector {
+
+	final @NonNull String route;
+	final LongAdder requests = new LongAdder();
+	final LongAdder otherErrors = new LongAdder();
+	final LongAdder bytesSent = new LongAdder();
+	final LongAdder bytesReceived = new LongAdder();
+	private final AtomicLongArray apiErrors = new AtomicLongArray(ApiError.values().length);
+	final LatencyHistogram queueTime = new LatencyHistogram();
+	final LatencyHistogram headersTime = new LatencyHistogram();
+	final LatencyHistogram bodyTime = new LatencyHistogram();
+	final LatencyHistogram parseTime = new LatencyHistogram();
+
+	RouteCollector(final @NonNull String route) {
+		this.route = route;
+	}
+
+	void apiError(final @NonNull ApiError apiError) {
+		this.apiErrors.incrementAndGet(apiError.ordinal());
+	}
+
+	long apiErrorCount() {
+		long total = 0;
+		for (int i = 0; i < this.apiErrors.length(); i++) {
+			total += this.apiErrors.get(i);
+		}
+		return total;
+	}
+
+	@NonNull RouteMetrics snapshot() {
+		final Map<ApiError, Long> apiErrors = new EnumMap<>(ApiError.class);
+		for (final ApiError apiError : ApiError.values()) {
+			final long count = this.apiErrors.get(apiError.ordinal());
+			if (count > 0) {
+				apiErrors.put(apiError, count);
+			}
+		}
+		return new RouteMetrics(
+				this.route,
+				this.requests.sum(),
+				apiErrors,
+				this.otherErrors.sum(),
+				this.bytesSent.sum(),
+				this.bytesReceived.sum(),
+				this.queueTime.snapshot(),
+				this.headersTime.snapshot(),
+				this.bodyTime.snapshot(),
+				this.parseTime.snapshot()
+		);
+	}
+
+}
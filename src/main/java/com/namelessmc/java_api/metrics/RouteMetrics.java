@@ -0,0 +1,123 @@
+package com.namelessmc.java_api.metrics;
+
+import com.namelessmc.java_api.exception.ApiError;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Snapshot of metrics for one route template, like {@code users/{transformer}/groups}.
+ *
+ * <p>The duration of a request is split into phases:</p>
+ * <ul>
+ *     <li>queue: waiting for the rate limit, concurrent request limit and retry delays</li>
+ *     <li>headers: from sending the request until response headers are received. This includes connecting, which
+ *     the Java HTTP client does not report separately, and the time spent by the website to generate the
+ *     response.</li>
+ *     <li>body: receiving the response body. For list responses that are decoded while they are received, this
+ *     includes decoding.</li>
+ *     <li>parse: parsing the JSON response</li>
+ * </ul>
+ */
+public final class RouteMetrics {
+
+	private final @NonNull String route;
+	private final long requests;
+	private final @NonNull Map<ApiError, Long> apiErrors;
+	private final long otherErrors;
+	private final long bytesSent;
+	private final long bytesReceived;
+	private final @NonNull LatencySnapshot queueTime;
+	private final @NonNull LatencySnapshot headersTime;
+	private final @NonNull LatencySnapshot bodyTime;
+	private final @NonNull LatencySnapshot parseTime;
+
+	RouteMetrics(final @NonNull String route,
+				 final long requests,
+				 final @NonNull Map<ApiError, Long> apiErrors,
+				 final long otherErrors,
+				 final long bytesSent,
+				 final long bytesReceived,
+				 final @NonNull LatencySnapshot queueTime,
+				 final @NonNull LatencySnapshot headersTime,
+				 final @NonNull LatencySnapshot bodyTime,
+				 final @NonNull LatencySnapshot parseTime) {
+		this.route = route;
+		this.requests = requests;
+		this.apiErrors = Collections.unmodifiableMap(apiErrors);
+		this.otherErrors = otherErrors;
+		this.bytesSent = bytesSent;
+		this.bytesReceived = bytesReceived;
+		this.queueTime = queueTime;
+		this.headersTime = headersTime;
+		this.bodyTime = bodyTime;
+		this.parseTime = parseTime;
+	}
+
+	public @NonNull String route() {
+		return this.route;
+	}
+
+	/**
+	 * @return Number of completed requests, including failed requests
+	 */
+	public long requests() {
+		return this.requests;
+	}
+
+	/**
+	 * @return Number of API error responses, by error
+	 */
+	public @NonNull Map<ApiError, Long> apiErrors() {
+		return this.apiErrors;
+	}
+
+	/**
+	 * @return Number of requests that failed for other reasons, like network errors or invalid responses
+	 */
+	public long otherErrors() {
+		return this.otherErrors;
+	}
+
+	/**
+	 * @return Total size of request bodies
+	 */
+	public long bytesSent() {
+		return this.bytesSent;
+	}
+
+	/**
+	 * @return Total size of response bodies
+	 */
+	public long bytesReceived() {
+		return this.bytesReceived;
+	}
+
+	public @NonNull LatencySnapshot queueTime() {
+		return this.queueTime;
+	}
+
+	public @NonNull LatencySnapshot headersTime() {
+		return this.headersTime;
+	}
+
+	public @NonNull LatencySnapshot bodyTime() {
+		return this.bodyTime;
+	}
+
+	public @NonNull LatencySnapshot parseTime() {
+		return this.parseTime;
+	}
+
+	@Override
+	public String toString() {
+		return this.route + ": requests=" + this.requests + " apiErrors=" + this.apiErrors + " otherErrors=" +
+				this.otherErrors + " sent=" + this.bytesSent + "B received=" + this.bytesReceived + "B\n" +
+				"  queue: " + this.queueTime + "\n" +
+				"  headers: " + this.headersTime + "\n" +
+				"  body: " + this.bodyTime + "\n" +
+				"  parse: " + this.parseTime;
+	}
+
+}
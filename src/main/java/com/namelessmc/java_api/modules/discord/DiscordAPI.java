@@ -12,6 +12,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.net.URL;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 public class DiscordAPI {
 
@@ -28,11 +29,19 @@ public class DiscordAPI {
 	 * @see #updateBotSettings(URL, long, String, long)
 	 */
 	public void updateBotUrl(final @NonNull URL url) throws NamelessException {
+		this.requests.post("discord/update-bot-settings", botUrlBody(url));
+	}
+
+	public @NonNull CompletableFuture<Void> updateBotUrlAsync(final @NonNull URL url) {
+		return this.requests.postAsync("discord/update-bot-settings", botUrlBody(url)).thenAccept(response -> {});
+	}
+
+	private static @NonNull JsonObject botUrlBody(final @NonNull URL url) {
 		Objects.requireNonNull(url, "Bot url is null");
 
 		final JsonObject json = new JsonObject();
 		json.addProperty("url", url.toString());
-		this.requests.post("discord/update-bot-settings", json);
+		return json;
 	}
 
 	/**
@@ -42,12 +51,20 @@ public class DiscordAPI {
 	 * @see #updateBotSettings(URL, long, String, long)
 	 */
 	public void updateBotUser(final @NonNull String username, final long userId) throws NamelessException {
+		this.requests.post("discord/update-bot-settings", botUserBody(username, userId));
+	}
+
+	public @NonNull CompletableFuture<Void> updateBotUserAsync(final @NonNull String username, final long userId) {
+		return this.requests.postAsync("discord/update-bot-settings", botUserBody(username, userId)).thenAccept(response -> {});
+	}
+
+	private static @NonNull JsonObject botUserBody(final @NonNull String username, final long userId) {
 		Objects.requireNonNull(username, "Bot username is null");
 
 		final JsonObject json = new JsonObject();
 		json.addProperty("bot_username", username);
 		json.addProperty("bot_user_id", userId + "");
-		this.requests.post("discord/update-bot-settings", json);
+		return json;
 	}
 
 	/**
@@ -56,9 +73,17 @@ public class DiscordAPI {
 	 * @see #updateBotSettings(URL, long, String, long)
 	 */
 	public void updateGuildId(final long guildId) throws NamelessException {
+		this.requests.post("discord/update-bot-settings", guildIdBody(guildId));
+	}
+
+	public @NonNull CompletableFuture<Void> updateGuildIdAsync(final long guildId) {
+		return this.requests.postAsync("discord/update-bot-settings", guildIdBody(guildId)).thenAccept(response -> {});
+	}
+
+	private static @NonNull JsonObject guildIdBody(final long guildId) {
 		final JsonObject json = new JsonObject();
 		json.addProperty("guild_id", guildId + "");
-		this.requests.post("discord/update-bot-settings", json);
+		return json;
 	}
 
 	/**
@@ -75,6 +100,21 @@ public class DiscordAPI {
 									  final long guildId,
 									  final @NonNull String username,
 									  final long userId) throws NamelessException {
+		this.requests.post("discord/update-bot-settings", botSettingsBody(url, guildId, username, userId));
+	}
+
+	public @NonNull CompletableFuture<Void> updateBotSettingsAsync(final @NonNull URL url,
+																	final long guildId,
+																	final @NonNull String username,
+																	final long userId) {
+		return this.requests.postAsync("discord/update-bot-settings", botSettingsBody(url, guildId, username, userId))
+				.thenAccept(response -> {});
+	}
+
+	private static @NonNull JsonObject botSettingsBody(final @NonNull URL url,
+													   final long guildId,
+													   final @NonNull String username,
+													   final long userId) {
 		Objects.requireNonNull(url, "Bot url is null");
 		Objects.requireNonNull(username, "Bot username is null");
 
@@ -83,7 +123,7 @@ public class DiscordAPI {
 		json.addProperty("guild_id", guildId + "");
 		json.addProperty("bot_username", username);
 		json.addProperty("bot_user_id", userId + "");
-		this.requests.post("discord/update-bot-settings", json);
+		return json;
 	}
 
 	/**
@@ -95,6 +135,17 @@ public class DiscordAPI {
 	public void updateDiscordUsername(final long discordUserId,
 									  final @NonNull String discordUsername)
 			throws NamelessException {
+		this.requests.post("discord/update-usernames", discordUsernameBody(discordUserId, discordUsername));
+	}
+
+	public @NonNull CompletableFuture<Void> updateDiscordUsernameAsync(final long discordUserId,
+																	   final @NonNull String discordUsername) {
+		return this.requests.postAsync("discord/update-usernames", discordUsernameBody(discordUserId, discordUsername))
+				.thenAccept(response -> {});
+	}
+
+	private static @NonNull JsonObject discordUsernameBody(final long discordUserId,
+														   final @NonNull String discordUsername) {
 		Objects.requireNonNull(discordUsername, "Discord username is null");
 
 		final JsonObject user = new JsonObject();
@@ -104,7 +155,7 @@ public class DiscordAPI {
 		users.add(user);
 		final JsonObject json = new JsonObject();
 		json.add("users", users);
-		this.requests.post("discord/update-usernames", json);
+		return json;
 	}
 
 	/**
@@ -125,6 +176,26 @@ public class DiscordAPI {
 			return;
 		}
 
+		this.requests.post("discord/update-usernames", discordUsernamesBody(discordUserIds, discordUsernames));
+	}
+
+	public @NonNull CompletableFuture<Void> updateDiscordUsernamesAsync(final long@NonNull[] discordUserIds,
+																		final  @NonNull String@NonNull[] discordUsernames) {
+		Objects.requireNonNull(discordUserIds, "User ids array is null");
+		Objects.requireNonNull(discordUsernames, "Usernames array is null");
+		Preconditions.checkArgument(discordUserIds.length == discordUsernames.length,
+				"discord user ids and discord usernames must be of same length");
+
+		if (discordUserIds.length == 0) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return this.requests.postAsync("discord/update-usernames", discordUsernamesBody(discordUserIds, discordUsernames))
+				.thenAccept(response -> {});
+	}
+
+	private static @NonNull JsonObject discordUsernamesBody(final long@NonNull[] discordUserIds,
+															final  @NonNull String@NonNull[] discordUsernames) {
 		final JsonArray users = new JsonArray();
 
 		for (int i = 0; i < discordUserIds.length; i++) {
@@ -136,7 +207,7 @@ public class DiscordAPI {
 
 		final JsonObject json = new JsonObject();
 		json.add("users", users);
-		this.requests.post("discord/update-usernames", json);
+		return json;
 	}
 
 	/**
@@ -144,6 +215,14 @@ public class DiscordAPI {
 	 * @param discordRoles Map of Discord roles, key is role id, value is role name
 	 */
 	public void updateRoleList(final @NonNull Map<Long, String> discordRoles) throws NamelessException {
+		this.requests.post("discord/submit-role-list", roleListBody(discordRoles));
+	}
+
+	public @NonNull CompletableFuture<Void> updateRoleListAsync(final @NonNull Map<Long, String> discordRoles) {
+		return this.requests.postAsync("discord/submit-role-list", roleListBody(discordRoles)).thenAccept(response -> {});
+	}
+
+	private static @NonNull JsonObject roleListBody(final @NonNull Map<Long, String> discordRoles) {
 		final JsonArray roles = new JsonArray();
 		discordRoles.forEach((id, name) -> {
 			final JsonObject role = new JsonObject();
@@ -153,7 +232,7 @@ public class DiscordAPI {
 		});
 		final JsonObject json = new JsonObject();
 		json.add("roles", roles);
-		this.requests.post("discord/submit-role-list", json);
+		return json;
 	}
 
 }
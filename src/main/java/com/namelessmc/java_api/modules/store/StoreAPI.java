@@ -7,25 +7,37 @@ import com.namelessmc.java_api.NamelessAPI;
 import com.namelessmc.java_api.RequestHandler;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.modules.NamelessModule;
+import com.namelessmc.java_api.util.JsonDecoder;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class StoreAPI {
 
 	private final NamelessAPI api;
 	private final RequestHandler requests;
+	// Payments are immutable, so concurrent identical payment requests can share this decoder and be coalesced
+	private final JsonDecoder<StorePayment> paymentDecoder;
 
 	public StoreAPI(final NamelessAPI api) throws NamelessException {
 		this.api = api;
 		this.requests = api.requests();
+		this.paymentDecoder = StorePayment.decoder(api);
 		this.api.ensureModuleInstalled(NamelessModule.STORE);
 	}
 
 	public List<StoreProduct> products() throws NamelessException {
-		JsonObject response = this.requests.get("store/products");
+		return products(this.requests.get("store/products"));
+	}
+
+	public CompletableFuture<List<StoreProduct>> productsAsync() {
+		return this.requests.getAsync("store/products").thenApply(StoreAPI::products);
+	}
+
+	private static List<StoreProduct> products(JsonObject response) {
 		JsonArray productsJson = response.getAsJsonArray("products");
 		List<StoreProduct> products = new ArrayList<>(productsJson.size());
 		for (JsonElement productElement : productsJson) {
@@ -35,22 +47,35 @@ public class StoreAPI {
 	}
 
 	public List<StorePayment> payments(PaymentsFilter... filters) throws NamelessException {
+		return this.requests.getList("store/payments", "payments",
+				this.paymentDecoder,
+				filterParameters(filters));
+	}
+
+	public CompletableFuture<List<StorePayment>> paymentsAsync(PaymentsFilter... filters) {
+		return this.requests.getListAsync("store/payments", "payments",
+				this.paymentDecoder,
+				filterParameters(filters));
+	}
+
+	private static Object[] filterParameters(PaymentsFilter[] filters) {
 		Object[] params = new Object[filters.length * 2];
 		for (int i = 0; i < filters.length; i++) {
 			params[i*2] = filters[i].name();
 			params[i*2+1] = filters[i].value();
 		}
-		JsonObject response = this.requests.get("store/payments", params);
-		JsonArray paymentsJson = response.getAsJsonArray("payments");
-		List<StorePayment> payments = new ArrayList<>(paymentsJson.size());
-		for (JsonElement productElement : paymentsJson) {
-			payments.add(new StorePayment(this.api, productElement.getAsJsonObject()));
-		}
-		return Collections.unmodifiableList(payments);
+		return params;
 	}
 
 	public List<StoreCategory> categories() throws NamelessException {
-		JsonObject response = this.requests.get("store/products");
+		return categories(this.requests.get("store/products"));
+	}
+
+	public CompletableFuture<List<StoreCategory>> categoriesAsync() {
+		return this.requests.getAsync("store/products").thenApply(StoreAPI::categories);
+	}
+
+	private static List<StoreCategory> categories(JsonObject response) {
 		JsonArray array = response.getAsJsonArray("categories");
 		List<StoreCategory> categories = new ArrayList<>(array.size());
 		for (JsonElement element : array) {
@@ -64,14 +89,27 @@ public class StoreAPI {
 		return new PendingCommandsResponse(this.api, response);
 	}
 
+	public CompletableFuture<PendingCommandsResponse> pendingCommandsAsync(int connectionId) {
+		return this.requests.getAsync("store/pending-commands", "connection_id", connectionId)
+				.thenApply(response -> new PendingCommandsResponse(this.api, response));
+	}
+
 	public void markCommandsExecuted(Collection<PendingCommandsResponse.PendingCommand> commands) throws NamelessException {
+		this.requests.post("store/commands-executed", commandsExecutedBody(commands));
+	}
+
+	public CompletableFuture<Void> markCommandsExecutedAsync(Collection<PendingCommandsResponse.PendingCommand> commands) {
+		return this.requests.postAsync("store/commands-executed", commandsExecutedBody(commands)).thenAccept(response -> {});
+	}
+
+	private static JsonObject commandsExecutedBody(Collection<PendingCommandsResponse.PendingCommand> commands) {
 		JsonArray array = new JsonArray(commands.size());
 		for (PendingCommandsResponse.PendingCommand command : commands) {
 			array.add(command.id());
 		}
 		JsonObject body = new JsonObject();
 		body.add("commands", array);
-		this.requests.post("store/commands-executed", body);
+		return body;
 	}
 
 }
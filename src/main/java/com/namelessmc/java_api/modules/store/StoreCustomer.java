@@ -1,11 +1,14 @@
 package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import com.namelessmc.java_api.NamelessAPI;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.util.GsonHelper;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.UUID;
 
 public class StoreCustomer {
@@ -30,6 +33,46 @@ public class StoreCustomer {
 		}
 	}
 
+	private StoreCustomer(NamelessAPI api, int id, @Nullable Integer userId, @Nullable String username, @Nullable String identifier) {
+		this.api = api;
+		this.id = id;
+		this.userId = userId;
+		this.username = username;
+		this.identifier = identifier;
+
+		if (this.username == null && this.identifier == null) {
+			throw new IllegalStateException("Username and identifier cannot be null at the same time");
+		}
+	}
+
+	static StoreCustomer decode(NamelessAPI api, JsonReader reader) throws IOException {
+		Integer id = null;
+		Integer userId = null;
+		String username = null;
+		String identifier = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "customer_id":
+					id = reader.nextInt();
+					break;
+				case "user_id":
+					userId = GsonHelper.nextNullableInt(reader);
+					break;
+				case "username":
+					username = GsonHelper.nextNullableString(reader);
+					break;
+				case "identifier":
+					identifier = GsonHelper.nextNullableString(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new StoreCustomer(api, GsonHelper.required(id, "customer_id"), userId, username, identifier);
+	}
+
 	public int id() {
 		return this.id;
 	}
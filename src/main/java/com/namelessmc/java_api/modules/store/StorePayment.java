@@ -3,11 +3,15 @@ package com.namelessmc.java_api.modules.store;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import com.namelessmc.java_api.NamelessAPI;
 import com.namelessmc.java_api.util.GsonHelper;
+import com.namelessmc.java_api.util.JsonDecoder;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -48,6 +52,107 @@ public class StorePayment {
 		}
 	}
 
+	private StorePayment(Fields fields) {
+		this.id = GsonHelper.required(fields.id, "id");
+		this.orderId = GsonHelper.required(fields.orderId, "order_id");
+		this.gatewayId = GsonHelper.required(fields.gatewayId, "gateway_id");
+		this.transaction = fields.transaction;
+		this.amount = GsonHelper.required(fields.amount, "amount");
+		this.currency = GsonHelper.required(fields.currency, "currency");
+		this.fee = GsonHelper.required(fields.fee, "fee");
+		this.status = GsonHelper.required(fields.status, "status_id");
+		this.creationDate = new Date(GsonHelper.required(fields.created, "created") * 1000);
+		this.lastUpdateDate = new Date(GsonHelper.required(fields.lastUpdated, "last_updated") * 1000);
+		this.payingCustomer = GsonHelper.required(fields.customer, "customer");
+		this.receivingCustomer = GsonHelper.required(fields.recipient, "recipient");
+		this.products = GsonHelper.required(fields.products, "products");
+	}
+
+	/**
+	 * Decoder reading payments from a token stream directly, without creating a {@link JsonObject} for each payment
+	 */
+	static JsonDecoder<StorePayment> decoder(NamelessAPI api) {
+		return reader -> {
+			Fields fields = new Fields();
+			reader.beginObject();
+			while (reader.hasNext()) {
+				switch (reader.nextName()) {
+					case "id":
+						fields.id = reader.nextInt();
+						break;
+					case "order_id":
+						fields.orderId = reader.nextInt();
+						break;
+					case "gateway_id":
+						fields.gatewayId = reader.nextInt();
+						break;
+					case "transaction":
+						fields.transaction = GsonHelper.nextNullableString(reader);
+						break;
+					case "amount":
+						fields.amount = reader.nextString();
+						break;
+					case "currency":
+						fields.currency = reader.nextString();
+						break;
+					case "fee":
+						fields.fee = reader.nextString();
+						break;
+					case "status_id":
+						int statusId = reader.nextInt();
+						if (statusId < 0 || statusId >= PaymentStatus.BY_ID.length) {
+							throw new JsonParseException("Unknown payment status " + statusId);
+						}
+						fields.status = PaymentStatus.BY_ID[statusId];
+						break;
+					case "created":
+						fields.created = reader.nextLong();
+						break;
+					case "last_updated":
+						fields.lastUpdated = reader.nextLong();
+						break;
+					case "customer":
+						fields.customer = StoreCustomer.decode(api, reader);
+						break;
+					case "recipient":
+						fields.recipient = StoreCustomer.decode(api, reader);
+						break;
+					case "products":
+						List<StorePaymentProduct> products = new ArrayList<>();
+						reader.beginArray();
+						while (reader.hasNext()) {
+							products.add(StorePaymentProduct.decode(reader));
+						}
+						reader.endArray();
+						fields.products = Collections.unmodifiableList(products);
+						break;
+					default:
+						reader.skipValue();
+				}
+			}
+			reader.endObject();
+			return new StorePayment(fields);
+		};
+	}
+
+	private static class Fields {
+
+		private @Nullable Integer id;
+		private @Nullable Integer orderId;
+		private @Nullable Integer gatewayId;
+		private @Nullable String transaction;
+		private @Nullable String amount;
+		private @Nullable String currency;
+		private @Nullable String fee;
+		private @Nullable PaymentStatus status;
+		private @Nullable Long created;
+		private @Nullable Long lastUpdated;
+		private @Nullable StoreCustomer customer;
+		private @Nullable StoreCustomer recipient;
+		private @Nullable List<StorePaymentProduct> products;
+
+	}
+
 	public int id() {
 		return id;
 	}
@@ -1,6 +1,10 @@
 package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.namelessmc.java_api.util.GsonHelper;
+
+import java.io.IOException;
 
 public class StorePaymentProduct {
 
@@ -12,6 +16,31 @@ public class StorePaymentProduct {
 		this.name = json.get("name").getAsString();
 	}
 
+	private StorePaymentProduct(int id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	static StorePaymentProduct decode(JsonReader reader) throws IOException {
+		Integer id = null;
+		String name = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "name":
+					name = reader.nextString();
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new StorePaymentProduct(GsonHelper.required(id, "id"), GsonHelper.required(name, "name"));
+	}
+
 	public int id() {
 		return id;
 	}
@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class WebsendAPI {
 
@@ -24,7 +25,14 @@ public class WebsendAPI {
 	}
 
 	public @NonNull List<WebsendCommand> commands(int serverId) throws NamelessException {
-		JsonObject response = this.requests.get("websend/commands","server_id", serverId);
+		return commands(this.requests.get("websend/commands","server_id", serverId));
+	}
+
+	public @NonNull CompletableFuture<List<WebsendCommand>> commandsAsync(int serverId) {
+		return this.requests.getAsync("websend/commands","server_id", serverId).thenApply(WebsendAPI::commands);
+	}
+
+	private static @NonNull List<WebsendCommand> commands(JsonObject response) {
 		JsonArray commandsJson = response.getAsJsonArray("commands");
 		List<WebsendCommand> commands = new ArrayList<>(commandsJson.size());
 		for (JsonElement e : commandsJson) {
@@ -41,6 +49,18 @@ public class WebsendAPI {
 	}
 
 	public void sendConsoleLog(int serverId, Collection<String> lines, boolean clearPrevious) throws NamelessException {
+		this.requests.post("websend/console", consoleLogBody(serverId, lines, clearPrevious));
+	}
+
+	public CompletableFuture<Void> sendConsoleLogAsync(int serverId, Collection<String> lines) {
+		return sendConsoleLogAsync(serverId, lines, false);
+	}
+
+	public CompletableFuture<Void> sendConsoleLogAsync(int serverId, Collection<String> lines, boolean clearPrevious) {
+		return this.requests.postAsync("websend/console", consoleLogBody(serverId, lines, clearPrevious)).thenAccept(response -> {});
+	}
+
+	private static JsonObject consoleLogBody(int serverId, Collection<String> lines, boolean clearPrevious) {
 		JsonObject body = new JsonObject();
 		body.addProperty("server_id", serverId);
 		body.addProperty("clear_previous", clearPrevious);
@@ -49,7 +69,7 @@ public class WebsendAPI {
 			content.add(line);
 		}
 		body.add("content", content);
-		this.requests.post("websend/console", body);
+		return body;
 	}
 
 }
@@ -0,0 +1,54 @@
+package com.namelessmc.java_api.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+public class FutureHelper {
+
+	/**
+	 * Strip {@link CompletionException} and {@link ExecutionException} wrappers added by {@link CompletableFuture}
+	 * @param throwable Exception a future was completed with
+	 * @return The original exception
+	 */
+	public static @NonNull Throwable unwrap(@NonNull Throwable throwable) {
+		while ((throwable instanceof CompletionException || throwable instanceof ExecutionException) &&
+				throwable.getCause() != null) {
+			throwable = throwable.getCause();
+		}
+		return throwable;
+	}
+
+	/**
+	 * Wrap an exception so it can be thrown from a {@link CompletableFuture} stage
+	 * @param throwable Exception a future was completed with
+	 * @return Exception to throw from a completion stage, never wrapped twice
+	 */
+	public static @NonNull CompletionException wrap(final @NonNull Throwable throwable) {
+		if (throwable instanceof CompletionException) {
+			return (CompletionException) throwable;
+		}
+		return new CompletionException(unwrap(throwable));
+	}
+
+	/**
+	 * Cancel a future when a future derived from it is cancelled, which {@link CompletableFuture} does not do
+	 * by itself
+	 * @param derived Future returned to the caller
+	 * @param source Future the derived future depends on
+	 * @return The derived future
+	 */
+	public static <T> @NonNull CompletableFuture<T> propagateCancellation(final @NonNull CompletableFuture<T> derived,
+																		 final @NonNull Future<?> source) {
+		derived.whenComplete((result, throwable) -> {
+			if (derived.isCancelled()) {
+				source.cancel(true);
+			}
+		});
+		return derived;
+	}
+
+}
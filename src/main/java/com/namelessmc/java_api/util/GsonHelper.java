@@ -3,8 +3,12 @@ package com.namelessmc.java_api.util;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.function.Function;
 
@@ -52,4 +56,40 @@ public class GsonHelper {
 		return null;
 	}
 
+	public static @Nullable String nextNullableString(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return reader.nextString();
+	}
+
+	public static @Nullable Integer nextNullableInt(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return reader.nextInt();
+	}
+
+	/**
+	 * Read a boolean, also accepting a string like {@link JsonElement#getAsBoolean()} does
+	 */
+	public static boolean nextBoolean(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.BOOLEAN) {
+			return reader.nextBoolean();
+		}
+		return Boolean.parseBoolean(reader.nextString());
+	}
+
+	/**
+	 * For decoders reading from a token stream, to check that a field was present
+	 */
+	public static <T> T required(@Nullable T value, String name) {
+		if (value == null) {
+			throw new JsonParseException("Missing field '" + name + "'");
+		}
+		return value;
+	}
+
 }
@@ -0,0 +1,37 @@
+package com.namelessmc.java_api.util;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Decodes a single JSON value from a token stream
+ * @param <T> Decoded object type
+ */
+@FunctionalInterface
+public interface JsonDecoder<T> {
+
+	@NonNull T decode(@NonNull JsonReader reader) throws IOException;
+
+	/**
+	 * Decoder that parses a single JSON object at a time, and passes it to the given constructor. Only
+	 * the object for one element is in memory at once, not the entire response.
+	 * @param constructor Function to create an object from parsed JSON
+	 * @return Decoder
+	 */
+	static <T extends @NonNull Object> @NonNull JsonDecoder<T> fromJsonObject(final @NonNull Function<JsonObject, T> constructor) {
+		return reader -> {
+			try {
+				return constructor.apply(JsonParser.parseReader(reader).getAsJsonObject());
+			} catch (final IllegalStateException e) {
+				throw new JsonParseException("Expected JSON object", e);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.namelessmc.java_api.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public class StringHelper {
+
+	/**
+	 * Make website responses safe to include in log and error messages
+	 * @return Copy of the string, with characters other than printable ASCII and newlines replaced by a dot
+	 */
+	public static @NonNull String regularAsciiOnly(@NonNull String message) {
+		char[] chars = message.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			char c = chars[i];
+			// only allow standard symbols, letters, numbers
+			// look up an ascii table if you don't understand this if statement
+			if (c >= ' ' && c <= '~' || c == '\n') {
+				chars[i] = c;
+			} else {
+				chars[i] = '.';
+			}
+		}
+		return new String(chars);
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.namelessmc.java_api.util;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Converts between Java UUIDs and the 32 hex character form without dashes used by the website, without
+ * intermediate strings or {@link java.math.BigInteger}s.
+ */
+public final class UuidCodec {
+
+	/**
+	 * Length of a UUID without dashes
+	 */
+	public static final int LENGTH = 32;
+
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < 10; i++) {
+			HEX_VALUES['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+		}
+	}
+
+	private UuidCodec() {}
+
+	/**
+	 * @param uuid 32 hex characters, upper or lower case, without dashes
+	 * @return Java UUID
+	 * @throws IllegalArgumentException If the string is not 32 hex characters
+	 */
+	public static @NonNull UUID parse(final @NonNull CharSequence uuid) {
+		Objects.requireNonNull(uuid, "UUID string is null");
+		if (uuid.length() != LENGTH) {
+			throw invalid(uuid);
+		}
+		long msb = 0;
+		long lsb = 0;
+		int bad = 0;
+		for (int i = 0; i < 16; i++) {
+			final int high = hexValue(uuid.charAt(i));
+			final int low = hexValue(uuid.charAt(i + 16));
+			bad |= high | low;
+			msb = (msb << 4) | high;
+			lsb = (lsb << 4) | low;
+		}
+		if (bad < 0) {
+			throw invalid(uuid);
+		}
+		return new UUID(msb, lsb);
+	}
+
+	/**
+	 * @param chars Array containing 32 hex characters starting at {@code offset}
+	 * @param offset Index of the first character
+	 * @return Java UUID
+	 * @throws IllegalArgumentException If the characters are not hex characters
+	 */
+	public static @NonNull UUID parse(final char @NonNull [] chars, final int offset) {
+		Objects.checkFromIndexSize(offset, LENGTH, chars.length);
+		long msb = 0;
+		long lsb = 0;
+		int bad = 0;
+		for (int i = 0; i < 16; i++) {
+			final int high = hexValue(chars[offset + i]);
+			final int low = hexValue(chars[offset + i + 16]);
+			bad |= high | low;
+			msb = (msb << 4) | high;
+			lsb = (lsb << 4) | low;
+		}
+		if (bad < 0) {
+			throw invalid(new String(chars, offset, LENGTH));
+		}
+		return new UUID(msb, lsb);
+	}
+
+	/**
+	 * @param bytes Array containing 32 ASCII hex characters starting at {@code offset}
+	 * @param offset Index of the first character
+	 * @return Java UUID
+	 * @throws IllegalArgumentException If the bytes are not ASCII hex characters
+	 */
+	public static @NonNull UUID parse(final byte @NonNull [] bytes, final int offset) {
+		Objects.checkFromIndexSize(offset, LENGTH, bytes.length);
+		long msb = 0;
+		long lsb = 0;
+		int bad = 0;
+		for (int i = 0; i < 16; i++) {
+			final int high = hexValue((char) (bytes[offset + i] & 0xFF));
+			final int low = hexValue((char) (bytes[offset + i + 16] & 0xFF));
+			bad |= high | low;
+			msb = (msb << 4) | high;
+			lsb = (lsb << 4) | low;
+		}
+		if (bad < 0) {
+			throw invalid(new String(bytes, offset, LENGTH, StandardCharsets.ISO_8859_1));
+		}
+		return new UUID(msb, lsb);
+	}
+
+	/**
+	 * Read a string value containing a UUID without dashes
+	 * @throws JsonParseException If the value is not a valid UUID
+	 */
+	public static @NonNull UUID nextUuid(final @NonNull JsonReader reader) throws IOException {
+		final String value = reader.nextString();
+		try {
+			return parse(value);
+		} catch (final IllegalArgumentException e) {
+			throw new JsonParseException(e.getMessage() + " at " + reader.getPath());
+		}
+	}
+
+	/**
+	 * @param uuid Java UUID
+	 * @return Lower case UUID without dashes
+	 */
+	public static @NonNull String format(final @NonNull UUID uuid) {
+		final byte[] bytes = new byte[LENGTH];
+		format(uuid, bytes, 0);
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Write a UUID as 32 lower case ASCII hex characters
+	 * @param uuid Java UUID
+	 * @param bytes Destination array
+	 * @param offset Index to write the first character to
+	 */
+	public static void format(final @NonNull UUID uuid, final byte @NonNull [] bytes, final int offset) {
+		Objects.checkFromIndexSize(offset, LENGTH, bytes.length);
+		long msb = uuid.getMostSignificantBits();
+		long lsb = uuid.getLeastSignificantBits();
+		for (int i = 15; i >= 0; i--) {
+			bytes[offset + i] = HEX_DIGITS[(int) msb & 0xF];
+			bytes[offset + i + 16] = HEX_DIGITS[(int) lsb & 0xF];
+			msb >>>= 4;
+			lsb >>>= 4;
+		}
+	}
+
+	/**
+	 * Write a UUID as 32 lower case hex characters
+	 * @param uuid Java UUID
+	 * @param chars Destination array
+	 * @param offset Index to write the first character to
+	 */
+	public static void format(final @NonNull UUID uuid, final char @NonNull [] chars, final int offset) {
+		Objects.checkFromIndexSize(offset, LENGTH, chars.length);
+		long msb = uuid.getMostSignificantBits();
+		long lsb = uuid.getLeastSignificantBits();
+		for (int i = 15; i >= 0; i--) {
+			chars[offset + i] = (char) HEX_DIGITS[(int) msb & 0xF];
+			chars[offset + i + 16] = (char) HEX_DIGITS[(int) lsb & 0xF];
+			msb >>>= 4;
+			lsb >>>= 4;
+		}
+	}
+
+	/**
+	 * @return Value of the hex digit, or -1 if the character is not a hex digit
+	 */
+	private static int hexValue(final char c) {
+		return c < 128 ? HEX_VALUES[c] : -1;
+	}
+
+	private static IllegalArgumentException invalid(final CharSequence uuid) {
+		return new IllegalArgumentException("Invalid uuid: '" + uuid + "'");
+	}
+
+}
@@ -0,0 +1,362 @@
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.CircuitBreaker;
+import com.namelessmc.java_api.Group;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.RequestHedging;
+import com.namelessmc.java_api.RequestLimiter;
+import com.namelessmc.java_api.RetryPolicy;
+import com.namelessmc.java_api.exception.CircuitBreakerOpenException;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.exception.RateLimitedException;
+import com.namelessmc.java_api.modules.store.StorePayment;
+import com.namelessmc.java_api.stub.StubNamelessWebsite;
+import com.namelessmc.java_api.util.JsonDecoder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TestRequestHandling {
+
+    private final StubNamelessWebsite website;
+
+    // JUnit creates an instance for each test, so each test has its own website
+    TestRequestHandling() throws IOException {
+        this.website = StubNamelessWebsite.start(50);
+    }
+
+    @AfterEach
+    void stopWebsite() {
+        this.website.close();
+    }
+
+    private static <T> @NonNull T nonNull(@Nullable T value) {
+        if (value == null) {
+            throw new AssertionError("Expected a non-null value");
+        }
+        return value;
+    }
+
+    @Test
+    void userCacheSharedBetweenIdentifiers() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .userCache(100, Duration.ofMinutes(1))
+                .build();
+        Assertions.assertEquals("User10", nonNull(api.userByUsername("User10")).username());
+        Assertions.assertEquals(10, nonNull(api.userByMinecraftUuid(StubNamelessWebsite.minecraftUuid(10))).id());
+        Assertions.assertEquals(10, nonNull(api.userByDiscordId(StubNamelessWebsite.discordId(10))).id());
+        Assertions.assertEquals(1, this.website.requestCount());
+    }
+
+    @Test
+    void unknownUser() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+        Assertions.assertNull(api.userByUsername("Nobody"));
+    }
+
+    @Test
+    void concurrentGetRequestsCoalesced() {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+        this.website.latency(Duration.ofMillis(300));
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        try {
+            List<CompletableFuture<List<Group>>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return api.getAllGroups();
+                    } catch (NamelessException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor));
+            }
+            for (CompletableFuture<List<Group>> future : futures) {
+                Assertions.assertEquals(4, future.join().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(1, this.website.requestCount("groups"));
+
+        List<CompletableFuture<JsonObject>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(api.requests().getAsync("groups"));
+        }
+        for (CompletableFuture<JsonObject> future : futures) {
+            Assertions.assertEquals(4, future.join().getAsJsonArray("groups").size());
+        }
+        Assertions.assertEquals(2, this.website.requestCount("groups"));
+
+        List<CompletableFuture<List<Group>>> groupFutures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            groupFutures.add(api.getAllGroupsAsync());
+        }
+        for (CompletableFuture<List<Group>> future : groupFutures) {
+            Assertions.assertEquals("Admin", future.join().get(0).getName());
+        }
+        Assertions.assertEquals(3, this.website.requestCount("groups"));
+    }
+
+    @Test
+    void listRequestsWithDifferentDecodersNotShared() {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+        this.website.latency(Duration.ofMillis(300));
+        CompletableFuture<List<String>> names = api.requests().getListAsync("groups", "groups",
+                JsonDecoder.fromJsonObject(group -> group.get("name").getAsString()));
+        CompletableFuture<List<Integer>> ids = api.requests().getListAsync("groups", "groups",
+                JsonDecoder.fromJsonObject(group -> group.get("id").getAsInt()));
+        Assertions.assertEquals("Admin", names.join().get(0));
+        Assertions.assertEquals(1, ids.join().get(0));
+        Assertions.assertEquals(2, this.website.requestCount("groups"));
+    }
+
+    @Test
+    void parallelUserListScan() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+        List<NamelessUser> users = api.users().pageSize(7).parallelism(3).makeRequest();
+        Assertions.assertEquals(50, users.size());
+        for (int i = 0; i < users.size(); i++) {
+            Assertions.assertEquals(i + 1, users.get(i).id());
+        }
+        // 8 pages, workers may request up to 2 pages past the end before seeing the last page
+        Assertions.assertTrue(this.website.requestCount("users") <= 10);
+    }
+
+    @Test
+    void pagedUserIteratorPrefetches() {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+        Iterator<NamelessUser> users = api.users().pageSize(10).prefetch().iterator();
+        int count = 0;
+        while (users.hasNext()) {
+            users.next();
+            count++;
+        }
+        Assertions.assertEquals(50, count);
+        Assertions.assertEquals(6, this.website.requestCount("users"));
+    }
+
+    @Test
+    void retryAfterServiceUnavailable() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .retryPolicy(RetryPolicy.builder()
+                        .maxRetries(2)
+                        .backoff(Duration.ofMillis(10), Duration.ofMillis(50))
+                        .build())
+                .build();
+        this.website.failNext(2, 503);
+        Assertions.assertEquals(4, api.getAllGroups().size());
+        Assertions.assertEquals(3, this.website.requestCount("groups"));
+
+        this.website.failNext(3, 503);
+        Assertions.assertThrows(NamelessException.class, api::getAllGroups);
+    }
+
+    @Test
+    void cancelledRequestNotRetried() throws InterruptedException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .retryPolicy(RetryPolicy.builder()
+                        .maxRetries(2)
+                        .backoff(Duration.ofMillis(1000), Duration.ofMillis(1000))
+                        .build())
+                .coalesceGetRequests(false)
+                .build();
+        this.website.failNext(1, 503);
+        CompletableFuture<JsonObject> future = api.requests().getAsync("groups");
+        while (this.website.requestCount("groups") == 0) {
+            Thread.sleep(10);
+        }
+        // Cancel after the 503 response is received, while waiting at least 500ms to retry
+        Thread.sleep(400);
+        future.cancel(true);
+        Thread.sleep(1200);
+        Assertions.assertEquals(1, this.website.requestCount("groups"));
+    }
+
+    @Test
+    void httpCacheRevalidates() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .httpCache(1024 * 1024)
+                .coalesceGetRequests(false)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(4, api.requests().get("groups").getAsJsonArray("groups").size());
+        }
+        Assertions.assertEquals(3, this.website.requestCount("groups"));
+        Assertions.assertEquals(2, this.website.notModifiedCount());
+    }
+
+    @Test
+    void registerAndRename() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+        Assertions.assertTrue(api.registerUser("NewUser", "new@example.com").isPresent());
+        NamelessUser user = nonNull(api.userByUsername("NewUser"));
+        Assertions.assertEquals(51, user.id());
+        user.updateUsername("RenamedUser");
+        Assertions.assertEquals("RenamedUser", nonNull(api.user(51)).username());
+    }
+
+    @Test
+    void storePayments() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+        List<StorePayment> payments = api.store().payments();
+        Assertions.assertEquals(20, payments.size());
+        Assertions.assertEquals("User1", payments.get(0).payingCustomer().username());
+        Assertions.assertEquals(20, api.store().pendingCommands(1).customers().size());
+
+        List<StorePayment> asyncPayments = api.storeAsync().thenCompose(store -> store.paymentsAsync()).join();
+        Assertions.assertEquals(20, asyncPayments.size());
+        Assertions.assertEquals("User1", asyncPayments.get(0).payingCustomer().username());
+        Assertions.assertEquals(payments.get(19).products().size(), asyncPayments.get(19).products().size());
+    }
+
+    @Test
+    void asyncModuleAndUserMethods() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY).build();
+        Assertions.assertEquals(20, api.storeAsync().thenCompose(store -> store.pendingCommandsAsync(1)).join().customers().size());
+        Assertions.assertEquals(1, this.website.requestCount("info"));
+        api.websendAsync().join();
+        Assertions.assertEquals(1, this.website.requestCount("info"));
+
+        NamelessUser user = api.userByUsernameLazy("User3");
+        user.createReportAsync(api.userLazy(4), "Griefing").join();
+        user.banUserAsync().join();
+        Assertions.assertTrue(nonNull(api.userAsync(3).join()).isBanned());
+    }
+
+    @Test
+    void concurrencyLimitRejectsWhenQueueIsFull() {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .maxConcurrentRequests(2, 1)
+                .coalesceGetRequests(false)
+                .build();
+        this.website.latency(Duration.ofMillis(300));
+        List<CompletableFuture<JsonObject>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(api.requests().getAsync("groups"));
+        }
+        int rejected = 0;
+        for (CompletableFuture<JsonObject> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                Assertions.assertInstanceOf(RateLimitedException.class, nonNull(e.getCause()));
+                rejected++;
+            }
+        }
+        RequestLimiter limiter = nonNull(api.requests().limiter());
+        Assertions.assertEquals(2, rejected);
+        Assertions.assertEquals(2, limiter.rejectedRequests());
+        Assertions.assertEquals(0, limiter.activeRequests());
+        Assertions.assertEquals(3, this.website.requestCount("groups"));
+    }
+
+    @Test
+    void cancelledQueuedRequestLeavesQueue() {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .maxConcurrentRequests(1, 10)
+                .coalesceGetRequests(false)
+                .build();
+        this.website.latency(Duration.ofMillis(300));
+        RequestLimiter limiter = nonNull(api.requests().limiter());
+        CompletableFuture<JsonObject> first = api.requests().getAsync("groups");
+        CompletableFuture<JsonObject> queued = api.requests().getAsync("announcements");
+        Assertions.assertEquals(1, limiter.queueDepth());
+        queued.cancel(true);
+        Assertions.assertEquals(0, limiter.queueDepth());
+        first.join();
+        Assertions.assertEquals(0, limiter.activeRequests());
+        Assertions.assertEquals(0, this.website.requestCount("announcements"));
+    }
+
+    @Test
+    void rateLimitRefillsTokens() throws NamelessException, InterruptedException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .rateLimit(1, Duration.ZERO)
+                .coalesceGetRequests(false)
+                .build();
+        api.requests().get("groups");
+        Assertions.assertThrows(RateLimitedException.class, () -> api.requests().get("groups"));
+        Thread.sleep(1100);
+        api.requests().get("groups");
+        Assertions.assertEquals(1, nonNull(api.requests().limiter()).rejectedRequests());
+        Assertions.assertEquals(2, this.website.requestCount("groups"));
+
+        NamelessAPI waiting = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .rateLimit(2, Duration.ofSeconds(5))
+                .coalesceGetRequests(false)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            waiting.requests().get("groups");
+        }
+        RequestLimiter waitingLimiter = nonNull(waiting.requests().limiter());
+        Assertions.assertEquals(0, waitingLimiter.rejectedRequests());
+        Assertions.assertTrue(waitingLimiter.maxWaitTime().toMillis() >= 100, waitingLimiter.maxWaitTime().toString());
+    }
+
+    @Test
+    void circuitBreakerOpensAndRecovers() throws NamelessException, InterruptedException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .circuitBreaker(0.5, 4, Duration.ofMillis(300))
+                .coalesceGetRequests(false)
+                .build();
+        CircuitBreaker circuitBreaker = nonNull(api.requests().circuitBreaker());
+
+        this.website.failNext(4, 503);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(NamelessException.class, () -> api.requests().get("groups"));
+        }
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> api.requests().get("groups"));
+        Assertions.assertEquals(4, this.website.requestCount("groups"));
+
+        // Failed probe opens the circuit again
+        Thread.sleep(400);
+        this.website.failNext(1, 503);
+        NamelessException probeFailure = Assertions.assertThrows(NamelessException.class, () -> api.requests().get("groups"));
+        Assertions.assertFalse(probeFailure instanceof CircuitBreakerOpenException);
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+
+        // Only the probe is sent while half open, a successful probe closes the circuit
+        Thread.sleep(400);
+        this.website.latency(Duration.ofMillis(300));
+        CompletableFuture<JsonObject> probe = api.requests().getAsync("groups");
+        Thread.sleep(100);
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> api.requests().get("groups"));
+        Assertions.assertEquals(4, probe.join().getAsJsonArray("groups").size());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        Assertions.assertEquals(4, api.getAllGroups().size());
+    }
+
+    @Test
+    void slowGetRequestIsHedged() throws NamelessException {
+        NamelessAPI api = NamelessAPI.builder(this.website.apiUrl(), StubNamelessWebsite.API_KEY)
+                .hedgeGetRequests(0.9, Duration.ofMillis(100))
+                .coalesceGetRequests(false)
+                .build();
+        RequestHedging hedging = nonNull(api.requests().hedging());
+        for (int i = 0; i < 20; i++) {
+            api.requests().get("groups");
+        }
+        Assertions.assertEquals(Duration.ofMillis(100), hedging.hedgeDelay());
+        Assertions.assertEquals(0, hedging.hedgedRequests());
+
+        this.website.latency(Duration.ofMillis(400));
+        Assertions.assertEquals(4, api.requests().get("groups").getAsJsonArray("groups").size());
+        Assertions.assertEquals(1, hedging.hedgedRequests());
+        Assertions.assertEquals(22, this.website.requestCount("groups"));
+    }
+
+}
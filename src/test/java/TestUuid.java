@@ -1,7 +1,14 @@
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.util.UuidCodec;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
 import java.util.UUID;
 
 public class TestUuid {
@@ -14,4 +21,56 @@ public class TestUuid {
         Assertions.assertEquals(NamelessAPI.websiteUuidToJavaUuid(website), java);
     }
 
+    @Test
+    void testRoundTrip() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            String website = uuid.toString().replace("-", "");
+            Assertions.assertEquals(website, UuidCodec.format(uuid));
+            Assertions.assertEquals(uuid, UuidCodec.parse(website));
+            Assertions.assertEquals(uuid, UuidCodec.parse(website.toUpperCase()));
+            Assertions.assertEquals(uuid, UuidCodec.parse(website.toCharArray(), 0));
+            Assertions.assertEquals(uuid, UuidCodec.parse(website.getBytes(StandardCharsets.US_ASCII), 0));
+        }
+    }
+
+    @Test
+    void testOffsets() {
+        UUID uuid = UUID.fromString("09948878-fe20-44e3-a072-42c39869dd1f");
+        char[] chars = new char[40];
+        UuidCodec.format(uuid, chars, 4);
+        Assertions.assertEquals("09948878fe2044e3a07242c39869dd1f", new String(chars, 4, 32));
+        Assertions.assertEquals(uuid, UuidCodec.parse(chars, 4));
+        byte[] bytes = new byte[40];
+        UuidCodec.format(uuid, bytes, 8);
+        Assertions.assertEquals(uuid, UuidCodec.parse(bytes, 8));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> UuidCodec.parse(chars, 9));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> UuidCodec.format(uuid, bytes, 9));
+    }
+
+    @Test
+    void testInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid(""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid("09948878fe2044e3a07242c39869dd1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid("09948878fe2044e3a07242c39869dd1f0"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid("09948878-fe20-44e3-a072-42c39869dd1f"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid("09948878fe2044e3a07242c39869dd1g"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid("-9948878fe2044e3a07242c39869dd1f"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid("0994887\uFF18fe2044e3a07242c39869dd1f"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> UuidCodec.parse("09948878fe2044e3a07242c39869dd1\u0080".getBytes(StandardCharsets.ISO_8859_1), 0));
+    }
+
+    @Test
+    void testJsonReader() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\"identifier\":\"09948878fe2044e3a07242c39869dd1f\",\"other\":\"not a uuid\"}"));
+        reader.beginObject();
+        reader.nextName();
+        Assertions.assertEquals(UUID.fromString("09948878-fe20-44e3-a072-42c39869dd1f"), UuidCodec.nextUuid(reader));
+        reader.nextName();
+        JsonParseException e = Assertions.assertThrows(JsonParseException.class, () -> UuidCodec.nextUuid(reader));
+        String message = e.getMessage();
+        Assertions.assertTrue(message != null && message.contains("$.other"), String.valueOf(message));
+    }
+
 }
@@ -0,0 +1,618 @@
+package com.namelessmc.java_api.stub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.namelessmc.java_api.NamelessAPI;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-process stand-in for a NamelessMC website, emulating the v2 API routes used by this library with a seeded
+ * in-memory dataset. Supports injected latency and errors, and counts requests per route.
+ */
+public class StubNamelessWebsite implements AutoCloseable {
+
+    public static final String API_KEY = "stub-api-key";
+
+    private static final String[] GROUP_NAMES = {"Admin", "Moderator", "VIP", "Member"};
+
+    static {
+        // Without TCP_NODELAY, small responses are delayed ~40ms by Nagle's algorithm and delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Random random = new Random(42);
+
+    private final List<JsonObject> groups = new ArrayList<>();
+    private final Map<Integer, JsonObject> users = new LinkedHashMap<>();
+    // Users by integration name and identifier, so load tests with many users don't scan them all
+    private final Map<String, JsonObject> usersByIntegrationId = new HashMap<>();
+    private final List<JsonObject> payments = new ArrayList<>();
+    private final List<JsonObject> pendingCommandCustomers = new ArrayList<>();
+    private final Map<Integer, JsonObject> suggestions = new HashMap<>();
+    private final List<String> consoleLines = new ArrayList<>();
+    private int nextUserId;
+
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double errorRate = 0;
+    private volatile int errorStatus = 503;
+    private final AtomicInteger failNext = new AtomicInteger();
+    private volatile int failNextStatus = 503;
+    private volatile @Nullable Function<String, byte @Nullable []> responses = null;
+
+    private StubNamelessWebsite() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "StubNamelessWebsite");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(this.executor);
+    }
+
+    /**
+     * Generate the dataset and start the website. Done after construction, because the handler needs a fully
+     * initialized website.
+     * @param userCount Number of users to generate. User ids start at 1, usernames are {@code User<id>}.
+     */
+    public static StubNamelessWebsite start(final int userCount) throws IOException {
+        final StubNamelessWebsite website = new StubNamelessWebsite();
+        website.seed(userCount);
+        website.server.createContext("/", website::handle);
+        website.server.start();
+        return website;
+    }
+
+    public URL apiUrl() {
+        try {
+            return new URL("http://127.0.0.1:" + this.server.getAddress().getPort() + "/index.php?route=/api/v2/");
+        } catch (final MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Wait before handling each request, to emulate PHP and database time
+     */
+    public void latency(final Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Respond to the next requests with an empty body and the given status code, for example 503
+     */
+    public void failNext(final int count, final int statusCode) {
+        this.failNextStatus = statusCode;
+        this.failNext.set(count);
+    }
+
+    /**
+     * Respond with the given bodies instead of responses from the dataset, for example to serve fixtures in
+     * benchmarks. Latency and errors are still injected, and requests are still counted.
+     * @param responses Response body for a route without parameters, like {@code users/id:1}, or null to respond
+     *                  from the dataset. Null to always respond from the dataset.
+     */
+    public void responses(final @Nullable Function<String, byte @Nullable []> responses) {
+        this.responses = responses;
+    }
+
+    /**
+     * Respond to a random fraction of requests with an empty body and the given status code
+     */
+    public void errorRate(final double errorRate, final int statusCode) {
+        this.errorStatus = statusCode;
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * @param route Route without parameters, for example {@code users/id:1}
+     * @return Number of requests for the route, any method, including failed requests
+     */
+    public int requestCount(final String route) {
+        final AtomicInteger count = this.requestCounts.get(route);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * @return Total number of requests, including failed requests
+     */
+    public int requestCount() {
+        return this.requestCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /**
+     * @return Number of conditional requests answered with 304 Not Modified
+     */
+    public int notModifiedCount() {
+        return this.notModifiedCount.get();
+    }
+
+    public void resetRequestCounts() {
+        this.requestCounts.clear();
+        this.notModifiedCount.set(0);
+    }
+
+    public synchronized List<String> consoleLines() {
+        return new ArrayList<>(this.consoleLines);
+    }
+
+    public static UUID minecraftUuid(final int userId) {
+        return new UUID(0x1234_5678_9abc_4defL, 0x8000_0000_0000_0000L | userId);
+    }
+
+    public static long discordId(final int userId) {
+        return 100_000_000_000_000_000L + userId;
+    }
+
+    private void seed(final int userCount) {
+        for (int i = 0; i < GROUP_NAMES.length; i++) {
+            final JsonObject group = new JsonObject();
+            group.addProperty("id", i + 1);
+            group.addProperty("name", GROUP_NAMES[i]);
+            group.addProperty("staff", i < 2);
+            group.addProperty("order", i + 1);
+            this.groups.add(group);
+        }
+
+        for (int id = 1; id <= userCount; id++) {
+            final JsonArray userGroups = new JsonArray();
+            userGroups.add(this.groups.get(id == 1 ? 0 : id % 10 == 0 ? 2 : 3));
+            final JsonArray integrations = new JsonArray();
+            integrations.add(integration("Minecraft", NamelessAPI.javaUuidToWebsiteUuid(minecraftUuid(id)), "User" + id));
+            if (id % 2 == 0) {
+                integrations.add(integration("Discord", String.valueOf(discordId(id)), "user" + id));
+            }
+            addUser(user(id, "User" + id, userGroups, integrations));
+        }
+        this.nextUserId = userCount + 1;
+
+        for (int id = 1; id <= Math.min(userCount, 20); id++) {
+            final JsonObject payment = new JsonObject();
+            payment.addProperty("id", id);
+            payment.addProperty("order_id", 1000 + id);
+            payment.addProperty("gateway_id", 1);
+            payment.addProperty("transaction", "TX" + id);
+            payment.addProperty("amount", "9.99");
+            payment.addProperty("currency", "EUR");
+            payment.addProperty("fee", "0.35");
+            payment.addProperty("status_id", 1);
+            payment.addProperty("created", 1690000000 + id * 60);
+            payment.addProperty("last_updated", 1690000000 + id * 60);
+            payment.add("customer", customer(id));
+            payment.add("recipient", customer(id));
+            final JsonArray products = new JsonArray();
+            final JsonObject product = new JsonObject();
+            product.addProperty("id", 1);
+            product.addProperty("name", "VIP rank");
+            products.add(product);
+            payment.add("products", products);
+            this.payments.add(payment);
+
+            final JsonObject pending = customer(id);
+            final JsonArray commands = new JsonArray();
+            final JsonObject command = new JsonObject();
+            command.addProperty("id", id);
+            command.addProperty("command", "lp user User" + id + " parent add vip");
+            command.addProperty("order_id", 1000 + id);
+            command.addProperty("require_online", false);
+            commands.add(command);
+            pending.add("commands", commands);
+            this.pendingCommandCustomers.add(pending);
+        }
+
+        for (int id = 1; id <= 3; id++) {
+            final JsonObject author = new JsonObject();
+            author.addProperty("id", 1);
+            author.addProperty("username", "User1");
+            final JsonObject status = new JsonObject();
+            status.addProperty("id", 1);
+            status.addProperty("name", "Open");
+            status.addProperty("open", true);
+            final JsonObject category = new JsonObject();
+            category.addProperty("id", 1);
+            category.addProperty("name", "General");
+            final JsonObject suggestion = new JsonObject();
+            suggestion.addProperty("id", id);
+            suggestion.addProperty("link", "https://example.com/suggestions/view/" + id);
+            suggestion.add("author", author);
+            suggestion.add("updated_by", author);
+            suggestion.add("status", status);
+            suggestion.add("category", category);
+            suggestion.addProperty("title", "Suggestion " + id);
+            suggestion.addProperty("content", "Please add feature " + id);
+            suggestion.addProperty("views", id * 10);
+            suggestion.addProperty("created", 1680000000 + id);
+            suggestion.addProperty("last_updated", 1680000000 + id);
+            suggestion.addProperty("likes_count", id);
+            suggestion.addProperty("dislikes_count", 0);
+            this.suggestions.put(id, suggestion);
+        }
+    }
+
+    private void addUser(final JsonObject user) {
+        this.users.put(user.get("id").getAsInt(), user);
+        for (final JsonElement element : user.getAsJsonArray("integrations")) {
+            final JsonObject integration = element.getAsJsonObject();
+            this.usersByIntegrationId.put(integration.get("integration").getAsString() + ":" +
+                    integration.get("identifier").getAsString(), user);
+        }
+    }
+
+    private static JsonObject user(final int id, final String username, final JsonArray groups, final JsonArray integrations) {
+        final JsonObject user = new JsonObject();
+        user.addProperty("id", id);
+        user.addProperty("username", username);
+        user.addProperty("displayname", username);
+        user.addProperty("registered_timestamp", 1640995200 + id);
+        user.addProperty("last_online_timestamp", 1672531200 + id);
+        user.addProperty("banned", false);
+        user.addProperty("validated", true);
+        user.addProperty("locale", "en_UK");
+        user.add("groups", groups);
+        user.add("integrations", integrations);
+        return user;
+    }
+
+    private static JsonObject integration(final String name, final String identifier, final String username) {
+        final JsonObject integration = new JsonObject();
+        integration.addProperty("integration", name);
+        integration.addProperty("identifier", identifier);
+        integration.addProperty("username", username);
+        integration.addProperty("verified", true);
+        integration.addProperty("linked_date", 1640995200);
+        integration.addProperty("show_publicly", true);
+        return integration;
+    }
+
+    private static JsonObject customer(final int userId) {
+        final JsonObject customer = new JsonObject();
+        customer.addProperty("customer_id", userId);
+        customer.addProperty("user_id", userId);
+        customer.addProperty("username", "User" + userId);
+        customer.addProperty("identifier", minecraftUuid(userId).toString());
+        return customer;
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final Map<String, String> parameters = parameters(exchange);
+            final String route = parameters.getOrDefault("route", "");
+            this.requestCounts.computeIfAbsent(route, k -> new AtomicInteger()).incrementAndGet();
+
+            if (!this.latency.isZero()) {
+                try {
+                    Thread.sleep(this.latency.toMillis());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            if (this.failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                exchange.sendResponseHeaders(this.failNextStatus, -1);
+                return;
+            }
+
+            final double errorRate = this.errorRate;
+            if (errorRate > 0) {
+                final boolean fail;
+                synchronized (this.random) {
+                    fail = this.random.nextDouble() < errorRate;
+                }
+                if (fail) {
+                    exchange.sendResponseHeaders(this.errorStatus, -1);
+                    return;
+                }
+            }
+
+            final Function<String, byte @Nullable []> responses = this.responses;
+            final byte @Nullable [] fixedResponse = responses != null &&
+                    API_KEY.equals(exchange.getRequestHeaders().getFirst("X-API-Key")) ? responses.apply(route) : null;
+            if (fixedResponse != null) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, fixedResponse.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(fixedResponse);
+                }
+                return;
+            }
+
+            final JsonObject response;
+            int status = 200;
+            if (!API_KEY.equals(exchange.getRequestHeaders().getFirst("X-API-Key"))) {
+                response = error("nameless:invalid_api_key");
+                status = 403;
+            } else {
+                if (exchange.getRequestMethod().equals("POST")) {
+                    final JsonObject body = JsonParser.parseReader(
+                            new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)).getAsJsonObject();
+                    synchronized (this) {
+                        response = handlePost(route, body);
+                    }
+                } else {
+                    synchronized (this) {
+                        response = handleGet(route, parameters);
+                    }
+                }
+                if (response.has("error")) {
+                    status = 400;
+                }
+            }
+
+            final byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (status == 200 && exchange.getRequestMethod().equals("GET")) {
+                // Always revalidate, so cached responses can be checked using notModifiedCount()
+                final String etag = "\"" + Integer.toHexString(response.hashCode()) + "\"";
+                exchange.getResponseHeaders().set("ETag", etag);
+                exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    this.notModifiedCount.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private JsonObject handleGet(final String route, final Map<String, String> parameters) {
+        if (route.equals("info")) {
+            final JsonObject info = new JsonObject();
+            info.addProperty("nameless_version", "2.1.2");
+            final JsonArray modules = new JsonArray();
+            for (final String module : new String[]{"Core", "Forum", "Discord Integration", "Store", "Suggestions", "Websend"}) {
+                modules.add(module);
+            }
+            info.add("modules", modules);
+            info.addProperty("locale", "en_UK");
+            return info;
+        } else if (route.equals("groups")) {
+            final JsonArray array = new JsonArray();
+            for (final JsonObject group : this.groups) {
+                if (!parameters.containsKey("name") || group.get("name").getAsString().equals(parameters.get("name"))) {
+                    array.add(group);
+                }
+            }
+            return wrap("groups", array);
+        } else if (route.equals("users")) {
+            final int offset = Integer.parseInt(parameters.getOrDefault("offset", "0"));
+            final int limit = Integer.parseInt(parameters.getOrDefault("limit", "0"));
+            final JsonArray array = new JsonArray();
+            int index = 0;
+            for (final JsonObject user : this.users.values()) {
+                if (index++ >= offset && (limit <= 0 || array.size() < limit)) {
+                    array.add(user);
+                }
+            }
+            return wrap("users", array);
+        } else if (route.startsWith("users/")) {
+            final String[] parts = route.split("/", 3);
+            final JsonObject user = findUser(parts[1]);
+            if (user == null) {
+                return error("nameless:cannot_find_user");
+            }
+            if (parts.length == 2) {
+                final JsonObject response = user.deepCopy();
+                response.addProperty("exists", true);
+                return response;
+            } else if (parts[2].equals("notifications") || parts[2].equals("announcements")) {
+                return wrap(parts[2], new JsonArray());
+            }
+        } else if (route.equals("announcements")) {
+            return wrap("announcements", new JsonArray());
+        } else if (route.equals("store/products")) {
+            final JsonObject response = wrap("products", new JsonArray());
+            response.add("categories", new JsonArray());
+            return response;
+        } else if (route.equals("store/payments")) {
+            final JsonArray array = new JsonArray();
+            this.payments.forEach(array::add);
+            return wrap("payments", array);
+        } else if (route.equals("store/pending-commands")) {
+            final JsonArray array = new JsonArray();
+            this.pendingCommandCustomers.forEach(array::add);
+            final JsonObject response = wrap("customers", array);
+            response.addProperty("online_mode", true);
+            return response;
+        } else if (route.equals("websend/commands")) {
+            return wrap("commands", new JsonArray());
+        } else if (route.startsWith("suggestions/")) {
+            final JsonObject suggestion = this.suggestions.get(parseInt(route.substring("suggestions/".length())));
+            return suggestion != null ? suggestion : error("suggestions:cannot_find_suggestion");
+        }
+        return error("nameless:invalid_api_method");
+    }
+
+    private JsonObject handlePost(final String route, final JsonObject body) {
+        if (route.equals("users/register")) {
+            final String username = body.get("username").getAsString();
+            for (final JsonObject user : this.users.values()) {
+                if (user.get("username").getAsString().equalsIgnoreCase(username)) {
+                    return error("core:username_already_exists");
+                }
+            }
+            final int id = this.nextUserId++;
+            final JsonArray integrations = new JsonArray();
+            if (body.has("integrations")) {
+                for (final Map.Entry<String, JsonElement> entry : body.getAsJsonObject("integrations").entrySet()) {
+                    final JsonObject integration = entry.getValue().getAsJsonObject();
+                    integrations.add(integration(entry.getKey(), integration.get("identifier").getAsString(),
+                            integration.get("username").getAsString()));
+                }
+            }
+            final JsonArray userGroups = new JsonArray();
+            userGroups.add(this.groups.get(3));
+            addUser(user(id, username, userGroups, integrations));
+            final JsonObject response = new JsonObject();
+            response.addProperty("user_id", id);
+            response.addProperty("link", "https://example.com/complete_signup/?c=" + id);
+            return response;
+        } else if (route.startsWith("users/")) {
+            final String[] parts = route.split("/", 3);
+            final JsonObject user = findUser(parts[1]);
+            if (user == null) {
+                return error("nameless:cannot_find_user");
+            }
+            final String action = parts.length == 3 ? parts[2] : "";
+            switch (action) {
+                case "update-username":
+                    user.addProperty("username", body.get("username").getAsString());
+                    user.addProperty("displayname", body.get("username").getAsString());
+                    return new JsonObject();
+                case "ban":
+                    user.addProperty("banned", true);
+                    return new JsonObject();
+                case "groups/add":
+                case "groups/remove":
+                    final JsonArray userGroups = user.getAsJsonArray("groups");
+                    for (final JsonElement groupId : body.getAsJsonArray("groups")) {
+                        userGroups.remove(this.groups.get(groupId.getAsInt() - 1));
+                        if (action.equals("groups/add")) {
+                            userGroups.add(this.groups.get(groupId.getAsInt() - 1));
+                        }
+                    }
+                    return new JsonObject();
+                case "verify":
+                    return new JsonObject();
+                default:
+                    return error("nameless:invalid_api_method");
+            }
+        } else if (route.equals("websend/console")) {
+            if (body.get("clear_previous").getAsBoolean()) {
+                this.consoleLines.clear();
+            }
+            body.getAsJsonArray("content").forEach(line -> this.consoleLines.add(line.getAsString()));
+            return new JsonObject();
+        } else if (route.equals("store/commands-executed")) {
+            for (final JsonElement commandId : body.getAsJsonArray("commands")) {
+                for (final JsonObject customer : this.pendingCommandCustomers) {
+                    final JsonArray commands = customer.getAsJsonArray("commands");
+                    commands.asList().removeIf(command -> command.getAsJsonObject().get("id").getAsInt() == commandId.getAsInt());
+                }
+            }
+            return new JsonObject();
+        } else if (route.equals("integration/verify") ||
+                route.equals("minecraft/server-info") ||
+                route.equals("minecraft/update-groups") ||
+                route.equals("reports/create") ||
+                route.equals("store/order/create") ||
+                route.startsWith("discord/") ||
+                route.startsWith("suggestions/")) {
+            // Accepted without effect on the dataset
+            return new JsonObject();
+        }
+        return error("nameless:invalid_api_method");
+    }
+
+    private @Nullable JsonObject findUser(final String transformer) {
+        final String[] parts = transformer.split(":", 3);
+        if (parts.length == 1) {
+            return this.users.get(parseInt(parts[0]));
+        }
+        switch (parts[0]) {
+            case "id":
+                return this.users.get(parseInt(parts[1]));
+            case "username":
+                for (final JsonObject user : this.users.values()) {
+                    if (user.get("username").getAsString().equals(parts[1])) {
+                        return user;
+                    }
+                }
+                return null;
+            case "integration_id":
+                return parts.length == 3 ? this.usersByIntegrationId.get(parts[1] + ":" + parts[2]) : null;
+            case "integration_name":
+                if (parts.length != 3) {
+                    return null;
+                }
+                for (final JsonObject user : this.users.values()) {
+                    for (final JsonElement element : user.getAsJsonArray("integrations")) {
+                        final JsonObject integration = element.getAsJsonObject();
+                        if (integration.get("integration").getAsString().equals(parts[1]) &&
+                                integration.get("username").getAsString().equals(parts[2])) {
+                            return user;
+                        }
+                    }
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static int parseInt(final String string) {
+        try {
+            return Integer.parseInt(string);
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static JsonObject wrap(final String name, final JsonArray array) {
+        final JsonObject object = new JsonObject();
+        object.add(name, array);
+        return object;
+    }
+
+    private static JsonObject error(final String error) {
+        final JsonObject object = new JsonObject();
+        object.addProperty("error", error);
+        return object;
+    }
+
+    private static Map<String, String> parameters(final HttpExchange exchange) {
+        final Map<String, String> parameters = new HashMap<>();
+        final String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (final String parameter : query.split("&")) {
+            final int equals = parameter.indexOf('=');
+            final String key = URLDecoder.decode(equals >= 0 ? parameter.substring(0, equals) : parameter, StandardCharsets.UTF_8);
+            final String value = equals >= 0 ? URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8) : "";
+            parameters.put(key, key.equals("route") && value.startsWith("/api/v2/") ? value.substring(8) : value);
+        }
+        return parameters;
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+}